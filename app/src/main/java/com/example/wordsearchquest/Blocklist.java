@@ -0,0 +1,35 @@
+package com.example.wordsearchquest;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.wordsearchquest.core.WordAutomaton;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Words that filler letters must never spell, loaded once from the {@code blocklist.txt} asset.
+ * The puzzle pack writer reads the same file, so packed puzzles and rebuilt puzzle codes agree.
+ */
+public class Blocklist {
+
+    private static final String TAG = "Blocklist";
+    private static final String BLOCKLIST_ASSET = "blocklist.txt";
+
+    private static WordAutomaton instance;
+
+    public static synchronized WordAutomaton get(Context context) {
+        if (instance == null) {
+            try (Reader reader = new InputStreamReader(context.getAssets().open(BLOCKLIST_ASSET), StandardCharsets.UTF_8)) {
+                instance = WordAutomaton.read(reader);
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading blocklist: " + e.getMessage());
+                instance = WordAutomaton.EMPTY;
+            }
+        }
+        return instance;
+    }
+}
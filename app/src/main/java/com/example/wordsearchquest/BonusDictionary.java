@@ -0,0 +1,51 @@
+package com.example.wordsearchquest;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.wordsearchquest.core.BonusWords;
+import com.example.wordsearchquest.core.Dawg;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * The dictionary bonus words are looked up in, loaded once from the {@code dictionary.dawg}
+ * asset that {@code :core:compileDictionary} builds from a word list. Without the asset there
+ * are no bonus words and the game plays as before.
+ */
+public class BonusDictionary {
+
+    private static final String TAG = "BonusDictionary";
+    private static final String DICTIONARY_ASSET = "dictionary.dawg";
+
+    private static Dawg instance;
+    private static boolean loaded = false;
+
+    // Null when no dictionary is shipped
+    public static synchronized Dawg get(Context context) {
+        if (!loaded) {
+            loaded = true;
+            try (InputStream input = new BufferedInputStream(context.getAssets().open(DICTIONARY_ASSET))) {
+                instance = Dawg.read(input);
+            } catch (FileNotFoundException e) {
+                instance = null;
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading dictionary: " + e.getMessage());
+                instance = null;
+            }
+        }
+        return instance;
+    }
+
+    // Scans the grid, so call it off the main thread
+    public static Set<String> find(Context context, WordGridGenerator.GridResult result) {
+        Dawg dictionary = get(context);
+        return dictionary != null ? BonusWords.find(result, dictionary) : Collections.emptySet();
+    }
+}
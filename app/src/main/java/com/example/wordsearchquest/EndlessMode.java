@@ -0,0 +1,150 @@
+package com.example.wordsearchquest;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import com.example.wordsearchquest.core.DifficultyCurve;
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.LevelPackReader;
+import com.example.wordsearchquest.core.LevelPipeline;
+import com.example.wordsearchquest.core.ProceduralLevels;
+import com.example.wordsearchquest.core.PuzzleCode;
+import com.example.wordsearchquest.core.WordCorpus;
+import com.example.wordsearchquest.core.WordCorpusReader;
+import com.example.wordsearchquest.core.WordCorpusWriter;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Endless levels, built on demand from the {@code words.corpus} asset and kept a few levels
+ * ahead of the player by a {@link LevelPipeline}. Without a corpus the words of the
+ * bundled levels are used as a single category, so the mode always works.
+ */
+public class EndlessMode {
+
+    private static final String TAG = "EndlessMode";
+    private static final String CORPUS_ASSET = "words.corpus";
+    private static final String FALLBACK_CATEGORY = "Classic";
+    // Levels kept ready beyond the one being played
+    private static final int PIPELINE_DEPTH = 2;
+    // Built in the background, but one slow level would still hold up the ones behind it
+    private static final long GENERATION_BUDGET_MS = 1000;
+
+    private static EndlessMode instance;
+
+    public static synchronized EndlessMode getInstance(Context context) {
+        if (instance == null) {
+            instance = new EndlessMode(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private final Context context;
+    private final long seed;
+    private LevelPipeline<GridPrefetcher.Puzzle> pipeline;
+    // Opened along with the first level defined; guarded by its own lock so opening the corpus
+    // never holds up prefetch calls from the main thread
+    private final Object levelsLock = new Object();
+    private ProceduralLevels levels;
+
+    private EndlessMode(Context context) {
+        this.context = context;
+        this.seed = new LevelManager(context).getEndlessSeed();
+    }
+
+    public synchronized void prefetch(int level) {
+        getPipeline().prefetch(level);
+    }
+
+    // Waits for the level if it is not ready yet. If the pipeline failed to build it, it is built
+    // once more on the calling thread. Returns null only if that fails too.
+    public GridPrefetcher.Puzzle take(int level) {
+        LevelPipeline<GridPrefetcher.Puzzle> levels;
+        synchronized (this) {
+            levels = getPipeline();
+        }
+        try {
+            return levels.take(level);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Error building endless level " + level + ", retrying", e.getCause());
+        }
+        try {
+            return build(define(level));
+        } catch (Exception e) {
+            Log.e(TAG, "Error building endless level " + level, e);
+            return null;
+        }
+    }
+
+    private LevelPipeline<GridPrefetcher.Puzzle> getPipeline() {
+        if (pipeline == null) {
+            pipeline = new LevelPipeline<>(level -> build(define(level)), PIPELINE_DEPTH);
+        }
+        return pipeline;
+    }
+
+    // Shared by the pipeline thread and retries in take, so the corpus is only opened once
+    private LevelDefinition define(int level) throws IOException {
+        synchronized (levelsLock) {
+            if (levels == null) {
+                levels = new ProceduralLevels(openCorpus(), DifficultyCurve.DEFAULT, seed);
+            }
+            return levels.define(level);
+        }
+    }
+
+    private GridPrefetcher.Puzzle build(LevelDefinition levelData) {
+        PuzzleCode puzzleCode = new PuzzleCode(levelData.level, levelData.gridSize, new SplittableRandom().nextLong());
+        GenerationOptions options = levelData.generationOptions()
+            .blocklist(Blocklist.get(context))
+            .timeBudget(GENERATION_BUDGET_MS);
+        WordGridGenerator.GridResult gridResult = puzzleCode.rebuild(levelData.words, options);
+        return new GridPrefetcher.Puzzle(levelData, puzzleCode, gridResult, BonusDictionary.find(context, gridResult));
+    }
+
+    private WordCorpusReader openCorpus() throws IOException {
+        try {
+            // Mapped in place, see androidResources.noCompress
+            AssetFileDescriptor descriptor = context.getAssets().openFd(CORPUS_ASSET);
+            FileInputStream stream = new FileInputStream(descriptor.getFileDescriptor());
+            return WordCorpusReader.open(stream.getChannel(), descriptor.getStartOffset(), descriptor.getLength());
+        } catch (IOException e) {
+            Log.i(TAG, "No word corpus, using the bundled level words");
+            return fallbackCorpus();
+        }
+    }
+
+    private WordCorpusReader fallbackCorpus() throws IOException {
+        Set<String> words = new LinkedHashSet<>();
+        LevelPackReader pack = LevelManager.getLevelPack(context);
+        for (int number : pack.getLevels()) {
+            for (String word : pack.read(number).words) {
+                if (word.matches("[A-Z]+")) {
+                    words.add(word);
+                }
+            }
+        }
+        List<WordCorpus.Entry> entries = new ArrayList<>();
+        for (String word : words) {
+            entries.add(new WordCorpus.Entry(FALLBACK_CATEGORY, word, entries.size()));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WordCorpusWriter.write(entries, bytes);
+        return new WordCorpusReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+}
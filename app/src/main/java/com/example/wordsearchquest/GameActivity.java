@@ -1,5 +1,8 @@
 package com.example.wordsearchquest;
 
+import android.content.ClipData;
+import android.content.ClipboardManager;
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.os.CountDownTimer;
@@ -16,25 +19,58 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.PuzzleCode;
+import com.example.wordsearchquest.core.Scoring;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameActivity extends AppCompatActivity {
 
+    // Longest a level start waits for the word search before settling for the best layout so far
+    private static final long GENERATION_BUDGET_MS = 250;
+    
+    // Level lookups, prefetch hand-overs and grid generation, so none of them hold up a frame
+    private static final ExecutorService levelLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "level-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private TextView tvLevelTitle, tvScore, tvTime, tvWordsFound;
     private ImageButton btnBack, btnPause;
     private Button btnHint;
     private WordGridView wordGridView;
     private RecyclerView recyclerWordList, recyclerFoundWords;
     private View layoutPauseOverlay;
+    private View layoutLoading;
     
     private LevelManager levelManager;
-    private LevelManager.LevelData levelData;
+    private LevelDefinition levelData;
     private WordGridGenerator.GridResult gridResult;
+    private PuzzleCode puzzleCode;
+    private GridPrefetcher.Puzzle prefetchedPuzzle;
+    private boolean isSharedPuzzle = false;
+    private boolean isEndless = false;
     private WordListAdapter wordListAdapter;
     private FoundWordsAdapter foundWordsAdapter;
     private List<String> foundWords;
+    private List<String> puzzleWords;
+    // Bumped for every new grid, so a generation still running for an abandoned one is ignored
+    private volatile int gridRequest = 0;
+    // The level start in progress, cancelled when the player leaves before it is done
+    private Future<?> levelTask;
+    private AtomicBoolean levelCancelled;
     
     private int currentLevel;
     private int currentScore = 0;
@@ -51,14 +87,26 @@ public class GameActivity extends AppCompatActivity {
         getCurrentLevel();
         initViews();
         initLevelManager();
-        loadLevelData();
-        setupGame();
         setupClickListeners();
-        startTimer();
+        loadLevelData();
     }
 
     private void getCurrentLevel() {
         currentLevel = getIntent().getIntExtra("level", 1);
+        isEndless = getIntent().getBooleanExtra("endless", false);
+        
+        // A shared puzzle code pins the level, grid size and seed
+        String sharedCode = getIntent().getStringExtra("puzzleCode");
+        if (sharedCode != null) {
+            try {
+                puzzleCode = PuzzleCode.decode(sharedCode);
+                currentLevel = puzzleCode.level;
+                isSharedPuzzle = true;
+                isEndless = false;
+            } catch (IllegalArgumentException e) {
+                Toast.makeText(this, R.string.invalid_puzzle_code, Toast.LENGTH_SHORT).show();
+            }
+        }
     }
 
     private void initViews() {
@@ -73,32 +121,112 @@ public class GameActivity extends AppCompatActivity {
         recyclerWordList = findViewById(R.id.recyclerWordList);
         recyclerFoundWords = findViewById(R.id.recyclerFoundWords);
         layoutPauseOverlay = findViewById(R.id.layoutPauseOverlay);
+        layoutLoading = findViewById(R.id.layoutLoading);
     }
 
     private void initLevelManager() {
         levelManager = new LevelManager(this);
     }
 
+    // Looks the level up in the background while a loading state shows; known is the level data
+    // to keep when a restart only needs a new grid
     private void loadLevelData() {
-        levelData = levelManager.getLevelData(currentLevel);
+        loadLevelData(null);
+    }
+    
+    private void loadLevelData(LevelDefinition known) {
+        cancelLevelStart();
+        int request = ++gridRequest;
+        levelCancelled = new AtomicBoolean();
+        gridResult = null;
+        layoutLoading.setVisibility(View.VISIBLE);
+        
+        Context appContext = getApplicationContext();
+        int level = currentLevel;
+        boolean endless = isEndless;
+        boolean pinned = puzzleCode != null;
+        levelTask = levelLoader.submit(() -> {
+            // A prefetched puzzle already carries its level data and grid
+            GridPrefetcher.Puzzle puzzle = null;
+            if (endless) {
+                // Endless levels only exist as built by the endless pipeline
+                if (known == null) {
+                    puzzle = EndlessMode.getInstance(appContext).take(level);
+                }
+            } else if (!pinned) {
+                puzzle = GridPrefetcher.getInstance().take(level);
+            }
+            LevelDefinition data = puzzle != null ? puzzle.levelData
+                : known != null ? known : endless ? null : levelManager.getLevelData(level);
+            
+            GridPrefetcher.Puzzle ready = puzzle;
+            runOnUiThread(() -> {
+                if (request != gridRequest || isDestroyed()) {
+                    return;
+                }
+                if (data == null) {
+                    // A campaign level with the same number would only pass itself off as this one
+                    Toast.makeText(this, R.string.error_loading_level, Toast.LENGTH_SHORT).show();
+                    finish();
+                } else {
+                    onLevelLoaded(data, ready);
+                }
+            });
+        });
+    }
+    
+    private void onLevelLoaded(LevelDefinition data, GridPrefetcher.Puzzle puzzle) {
+        levelData = data;
+        prefetchedPuzzle = puzzle;
         timeRemaining = levelData.timeLimit;
+        layoutLoading.setVisibility(View.GONE);
+        
+        // The timer waits for the grid, see showGrid
+        setupGame();
+        prefetchUpcomingGrids();
+    }
+    
+    // Drops whatever level start is still running. Running work is not interrupted, since that
+    // would close the shared level pack channel, but grid generation stops at its next step.
+    private void cancelLevelStart() {
+        gridRequest++;
+        if (levelCancelled != null) {
+            levelCancelled.set(true);
+        }
+        if (levelTask != null) {
+            levelTask.cancel(false);
+        }
+    }
+    
+    private void prefetchUpcomingGrids() {
+        if (isEndless) {
+            EndlessMode.getInstance(this).prefetch(currentLevel + 1);
+            return;
+        }
+        
+        // Keep a spare grid for a retry and the next level ready in the background
+        GridPrefetcher prefetcher = GridPrefetcher.getInstance();
+        prefetcher.prefetch(this, currentLevel);
+        if (currentLevel < levelManager.getLevelCount()) {
+            prefetcher.prefetch(this, currentLevel + 1);
+        }
     }
 
     private void setupGame() {
         // Set level title
-        tvLevelTitle.setText("Level " + currentLevel);
+        tvLevelTitle.setText((isEndless ? "Endless " : "Level ") + currentLevel);
         
         // Initialize found words list
         foundWords = new ArrayList<>();
         
+        // Generate and display word grid
+        setupWordGrid();
+        
         // Initialize score and time display
         updateScoreDisplay();
         updateTimeDisplay();
         updateWordsFoundDisplay();
         
-        // Generate and display word grid
-        setupWordGrid();
-        
         // Setup word list
         setupWordList();
         
@@ -117,20 +245,100 @@ public class GameActivity extends AppCompatActivity {
     }
 
     private void setupWordGrid() {
-        // Generate word grid with actual words
-        gridResult = WordGridGenerator.generateGrid(levelData.words, levelData.gridSize);
-        
-        // Set grid data to the custom view
-        wordGridView.setGridData(gridResult.grid, gridResult.wordPlacements);
+        puzzleWords = new ArrayList<>();
+        if (prefetchedPuzzle != null) {
+            gridRequest++;
+            puzzleCode = prefetchedPuzzle.puzzleCode;
+            GridPrefetcher.Puzzle ready = prefetchedPuzzle;
+            prefetchedPuzzle = null;
+            showGrid(ready.gridResult, ready.bonusWords);
+        } else {
+            // Generate word grid from a seed so the puzzle can be shared and replayed
+            if (puzzleCode == null) {
+                puzzleCode = new PuzzleCode(currentLevel, levelData.gridSize, new SplittableRandom().nextLong());
+            }
+            generateGridProgressively();
+        }
         
         // Add entrance animation
         Animation gridAnimation = AnimationUtils.loadAnimation(this, R.anim.grid_fade_in);
         wordGridView.startAnimation(gridAnimation);
     }
+    
+    // The entrance animation starts on an empty grid right away and the words land as they are
+    // placed, so a large grid shows up after its first word rather than after all the filler
+    private void generateGridProgressively() {
+        int request = ++gridRequest;
+        gridResult = null;
+        wordGridView.showSkeleton(puzzleCode.gridSize);
+        
+        PuzzleCode code = puzzleCode;
+        LevelDefinition data = levelData;
+        Context appContext = getApplicationContext();
+        GenerationOptions options = data.generationOptions().cancelFlag(levelCancelled);
+        if (!isSharedPuzzle) {
+            // A shared code has to rebuild the exact grid it was made from, so only fresh puzzles are cut short
+            options.timeBudget(GENERATION_BUDGET_MS);
+        }
+        levelTask = levelLoader.submit(() -> {
+            // The blocklist may still have to be read from its asset
+            options.blocklist(Blocklist.get(appContext));
+            code.rebuild(data.words, options, new WordGridGenerator.GenerationListener() {
+                @Override
+                public void onWordPlaced(WordGridGenerator.WordPlacement placement) {
+                    if (request == gridRequest) {
+                        wordGridView.revealWord(placement);
+                    }
+                }
+            
+                @Override
+                public void onFilled(WordGridGenerator.GridResult result) {
+                    // Still on the generation thread, so the dictionary scan stays off the main thread
+                    Set<String> bonusWords = request == gridRequest
+                        ? BonusDictionary.find(getApplicationContext(), result) : null;
+                    runOnUiThread(() -> {
+                        if (request == gridRequest && !isDestroyed()) {
+                            showGrid(result, bonusWords);
+                        }
+                    });
+                }
+            });
+        });
+    }
+    
+    private void showGrid(WordGridGenerator.GridResult result, Set<String> bonusWords) {
+        if (result.wordPlacements.isEmpty()) {
+            // Nothing to find, so the level could only ever time out
+            Toast.makeText(this, R.string.error_loading_level, Toast.LENGTH_SHORT).show();
+            finish();
+            return;
+        }
+        gridResult = result;
+        
+        // Only words that made it into the grid can be found
+        puzzleWords.clear();
+        for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+            puzzleWords.add(placement.word);
+        }
+        
+        // Set grid data to the custom view
+        wordGridView.setGridData(result.grid, result.wordPlacements);
+        wordGridView.setBonusWords(bonusWords);
+        
+        if (wordListAdapter != null) {
+            wordListAdapter.notifyDataSetChanged();
+        }
+        updateWordsFoundDisplay();
+        
+        // The clock only runs once there is a grid to play
+        if (!isPaused) {
+            startTimer();
+        }
+    }
 
     private void setupWordList() {
         // Create adapter for word list
-        wordListAdapter = new WordListAdapter(levelData.words, foundWords);
+        wordListAdapter = new WordListAdapter(puzzleWords, foundWords);
         
         // Setup RecyclerView with GridLayoutManager
         GridLayoutManager layoutManager = new GridLayoutManager(this, 2, GridLayoutManager.HORIZONTAL, false);
@@ -157,11 +365,13 @@ public class GameActivity extends AppCompatActivity {
                 onWordFound(word);
             }
         });
+        wordGridView.setOnBonusWordSelectedListener(this::onBonusWordFound);
     }
 
     private void setupClickListeners() {
         btnBack.setOnClickListener(v -> {
             pauseTimer();
+            cancelLevelStart();
             finish();
         });
 
@@ -176,6 +386,11 @@ public class GameActivity extends AppCompatActivity {
         btnHint.setOnClickListener(v -> {
             useHint();
         });
+        
+        tvLevelTitle.setOnLongClickListener(v -> {
+            copyPuzzleCode();
+            return true;
+        });
 
         // Pause overlay buttons
         findViewById(R.id.btnResume).setOnClickListener(v -> resumeGame());
@@ -222,18 +437,53 @@ public class GameActivity extends AppCompatActivity {
     private void resumeGame() {
         isPaused = false;
         layoutPauseOverlay.setVisibility(View.GONE);
-        startTimer();
+        // Still loading: showGrid starts the timer
+        if (gridResult != null) {
+            startTimer();
+        }
     }
 
     private void restartLevel() {
+        if (levelData == null) {
+            // Nothing to restart until the level has loaded
+            resumeGame();
+            return;
+        }
+        pauseTimer();
         currentScore = 0;
-        timeRemaining = levelData.timeLimit;
         isPaused = false;
         hintsRemaining = 2;
         layoutPauseOverlay.setVisibility(View.GONE);
         
-        setupGame();
-        startTimer();
+        // Restarting a shared puzzle replays it, an endless level keeps its words on a new grid,
+        // otherwise deal the spare grid
+        prefetchedPuzzle = null;
+        if (isEndless) {
+            puzzleCode = null;
+            loadLevelData(levelData);
+        } else if (isSharedPuzzle) {
+            loadLevelData(levelData);
+        } else {
+            puzzleCode = null;
+            loadLevelData();
+        }
+    }
+
+    private void copyPuzzleCode() {
+        if (puzzleCode == null) {
+            // Still loading
+            return;
+        }
+        if (isEndless || (gridResult != null && !gridResult.complete && !isSharedPuzzle)) {
+            // Endless levels can't be rebuilt from a code, and a cut short search
+            // would rebuild a different grid
+            Toast.makeText(this, R.string.puzzle_code_unavailable, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        String code = puzzleCode.encode();
+        ClipboardManager clipboard = (ClipboardManager) getSystemService(CLIPBOARD_SERVICE);
+        clipboard.setPrimaryClip(ClipData.newPlainText("Puzzle code", code));
+        Toast.makeText(this, getString(R.string.puzzle_code_copied, code), Toast.LENGTH_SHORT).show();
     }
 
     private void updateScoreDisplay() {
@@ -247,7 +497,7 @@ public class GameActivity extends AppCompatActivity {
     }
 
     private void updateWordsFoundDisplay() {
-        tvWordsFound.setText(String.format(Locale.getDefault(), "%d/%d", foundWords.size(), levelData.words.size()));
+        tvWordsFound.setText(String.format(Locale.getDefault(), "%d/%d", foundWords.size(), puzzleWords.size()));
     }
 
     private void addScore(int points) {
@@ -261,7 +511,7 @@ public class GameActivity extends AppCompatActivity {
             foundWords.add(word.toUpperCase());
             
             // Add score for found word
-            addScore(10);
+            addScore(Scoring.POINTS_PER_WORD);
             
             // Update displays
             updateWordsFoundDisplay();
@@ -269,25 +519,34 @@ public class GameActivity extends AppCompatActivity {
             foundWordsAdapter.updateFoundWords(foundWords);
             
             // Show feedback
-            Toast.makeText(this, "Word found: " + word + " (+10 points)", Toast.LENGTH_SHORT).show();
+            Toast.makeText(this, "Word found: " + word + " (+" + Scoring.POINTS_PER_WORD + " points)", Toast.LENGTH_SHORT).show();
             
             // Check if level is complete
-            if (foundWords.size() == levelData.words.size()) {
+            if (foundWords.size() == puzzleWords.size()) {
                 gameComplete(true);
             }
         }
     }
 
+    private void onBonusWordFound(String word) {
+        addScore(Scoring.POINTS_PER_BONUS_WORD);
+        Toast.makeText(this, "Bonus word: " + word + " (+" + Scoring.POINTS_PER_BONUS_WORD + " points)", Toast.LENGTH_SHORT).show();
+    }
+
     private void gameComplete(boolean isWon) {
         pauseTimer();
         
         if (isWon) {
             // Calculate bonus score for remaining time
-            int timeBonus = timeRemaining * 5;
+            int timeBonus = Scoring.timeBonus(timeRemaining);
             addScore(timeBonus);
             
             // Mark level as completed
-            levelManager.markLevelCompleted(currentLevel, currentScore);
+            if (isEndless) {
+                levelManager.markEndlessLevelCompleted(currentLevel, currentScore);
+            } else {
+                levelManager.markLevelCompleted(currentLevel, currentScore);
+            }
         }
         
         // Start result activity
@@ -297,7 +556,9 @@ public class GameActivity extends AppCompatActivity {
         intent.putExtra("timeRemaining", timeRemaining);
         intent.putExtra("isWon", isWon);
         intent.putExtra("wordsFound", foundWords.size());
-        intent.putExtra("totalWords", levelData.words.size());
+        intent.putExtra("totalWords", puzzleWords.size());
+        intent.putExtra("endless", isEndless);
+        intent.putExtra("timeLimit", levelData.timeLimit);
         startActivity(intent);
         finish();
     }
@@ -307,6 +568,10 @@ public class GameActivity extends AppCompatActivity {
     }
     
     private void useHint() {
+        if (gridResult == null) {
+            // No grid to hint at yet
+            return;
+        }
         if (hintsRemaining <= 0) {
             Toast.makeText(this, "No hints remaining!", Toast.LENGTH_SHORT).show();
             return;
@@ -314,7 +579,7 @@ public class GameActivity extends AppCompatActivity {
         
         // Find a random word that hasn't been found yet
         List<String> unfoundWords = new ArrayList<>();
-        for (String word : levelData.words) {
+        for (String word : puzzleWords) {
             if (!foundWords.contains(word.toUpperCase())) {
                 unfoundWords.add(word);
             }
@@ -351,7 +616,8 @@ public class GameActivity extends AppCompatActivity {
     @Override
     protected void onPause() {
         super.onPause();
-        if (!isPaused && gameTimer != null) {
+        // Also while loading, so a grid that lands in the background doesn't start the clock
+        if (!isPaused) {
             pauseGame();
         }
     }
@@ -362,5 +628,6 @@ public class GameActivity extends AppCompatActivity {
         if (gameTimer != null) {
             gameTimer.cancel();
         }
+        cancelLevelStart();
     }
 }
\ No newline at end of file
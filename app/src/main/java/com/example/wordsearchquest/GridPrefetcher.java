@@ -0,0 +1,161 @@
+package com.example.wordsearchquest;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.PuzzleCode;
+import com.example.wordsearchquest.core.PuzzlePack;
+import com.example.wordsearchquest.core.PuzzlePackReader;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates upcoming grids on a background thread so level transitions don't pay for level
+ * loading and grid generation. Holds at most one ready grid per level in a small LRU cache.
+ * When the app ships a pre-generated puzzle pack, grids are read from it instead of generated.
+ */
+public class GridPrefetcher {
+
+    private static final String TAG = "GridPrefetcher";
+    private static final int MAX_CACHED_LEVELS = 4;
+    private static final String PUZZLE_PACK_ASSET = "puzzles.pack";
+
+    private static GridPrefetcher instance;
+
+    public static synchronized GridPrefetcher getInstance() {
+        if (instance == null) {
+            instance = new GridPrefetcher();
+        }
+        return instance;
+    }
+
+    public static class Puzzle {
+        public final LevelDefinition levelData;
+        public final PuzzleCode puzzleCode;
+        public final WordGridGenerator.GridResult gridResult;
+        public final Set<String> bonusWords;
+
+        Puzzle(LevelDefinition levelData, PuzzleCode puzzleCode, WordGridGenerator.GridResult gridResult,
+               Set<String> bonusWords) {
+            this.levelData = levelData;
+            this.puzzleCode = puzzleCode;
+            this.gridResult = gridResult;
+            this.bonusWords = bonusWords;
+        }
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "grid-prefetch");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Access ordered, so the least recently requested level is dropped first
+    private final LinkedHashMap<Integer, Future<Puzzle>> cache =
+        new LinkedHashMap<Integer, Future<Puzzle>>(MAX_CACHED_LEVELS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Future<Puzzle>> eldest) {
+                if (size() > MAX_CACHED_LEVELS) {
+                    eldest.getValue().cancel(false);
+                    return true;
+                }
+                return false;
+            }
+        };
+
+    // Only touched from the prefetch thread
+    private PuzzlePackReader puzzlePack;
+    private boolean puzzlePackOpened = false;
+
+    private GridPrefetcher() {
+    }
+
+    // Opens the level pack in the background, so the first level lookup only reads its record
+    public void warmLevels(Context context) {
+        Context appContext = context.getApplicationContext();
+        executor.execute(() -> {
+            try {
+                LevelManager.getLevelPack(appContext);
+            } catch (IOException e) {
+                Log.e(TAG, "Error loading levels", e);
+            }
+        });
+    }
+
+    public synchronized void prefetch(Context context, int level) {
+        if (cache.containsKey(level)) {
+            cache.get(level);
+            return;
+        }
+
+        Context appContext = context.getApplicationContext();
+        cache.put(level, executor.submit(() -> {
+            LevelDefinition levelData = new LevelManager(appContext).getLevelData(level);
+            
+            PuzzlePackReader pack = getPuzzlePack(appContext);
+            if (pack != null && pack.getPuzzleCount(level) > 0) {
+                int index = new SplittableRandom().nextInt(pack.getPuzzleCount(level));
+                PuzzlePack.Puzzle packed = pack.readPuzzle(level, index);
+                PuzzleCode puzzleCode = new PuzzleCode(level, packed.gridResult.grid.length, packed.seed);
+                return new Puzzle(levelData, puzzleCode, packed.gridResult,
+                    BonusDictionary.find(appContext, packed.gridResult));
+            }
+            
+            PuzzleCode puzzleCode = new PuzzleCode(level, levelData.gridSize, new SplittableRandom().nextLong());
+            GenerationOptions options = levelData.generationOptions().blocklist(Blocklist.get(appContext));
+            WordGridGenerator.GridResult gridResult = puzzleCode.rebuild(levelData.words, options);
+            return new Puzzle(levelData, puzzleCode, gridResult, BonusDictionary.find(appContext, gridResult));
+        }));
+    }
+    
+    private PuzzlePackReader getPuzzlePack(Context context) {
+        if (!puzzlePackOpened) {
+            puzzlePackOpened = true;
+            try {
+                // Needs the asset stored uncompressed, see androidResources.noCompress
+                AssetFileDescriptor descriptor = context.getAssets().openFd(PUZZLE_PACK_ASSET);
+                FileInputStream stream = new FileInputStream(descriptor.getFileDescriptor());
+                puzzlePack = new PuzzlePackReader(stream.getChannel(), descriptor.getStartOffset());
+            } catch (IOException e) {
+                // No pack shipped, grids are generated on the fly
+                puzzlePack = null;
+            }
+        }
+        return puzzlePack;
+    }
+
+    // Hands over the prefetched grid for the level, waiting if it is still being generated.
+    // Returns null if nothing was prefetched, so the caller generates one itself.
+    public Puzzle take(int level) {
+        Future<Puzzle> future;
+        synchronized (this) {
+            future = cache.remove(level);
+        }
+        if (future == null || future.isCancelled()) {
+            return null;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Error prefetching level " + level, e.getCause());
+        }
+        return null;
+    }
+}
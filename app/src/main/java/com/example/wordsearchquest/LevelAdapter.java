@@ -0,0 +1,91 @@
+package com.example.wordsearchquest;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.wordsearchquest.core.ProgressStore;
+
+/**
+ * Level select grid. Views are recycled, so only the visible rows are ever bound, and every
+ * level's state comes from one progress snapshot rather than a lookup per level. On an update
+ * only the levels whose lock or completion changed are rebound.
+ */
+public class LevelAdapter extends RecyclerView.Adapter<LevelAdapter.LevelViewHolder> {
+
+    public interface OnLevelClickListener {
+        void onLevelClick(int level);
+    }
+
+    private int levelCount;
+    private ProgressStore.Snapshot progress;
+    private final OnLevelClickListener listener;
+
+    public LevelAdapter(int levelCount, ProgressStore.Snapshot progress, OnLevelClickListener listener) {
+        this.levelCount = levelCount;
+        this.progress = progress;
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public LevelViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_level, parent, false);
+        return new LevelViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull LevelViewHolder holder, int position) {
+        int level = position + 1;
+        Context context = holder.itemView.getContext();
+        
+        if (progress.isUnlocked(level)) {
+            int color = progress.isCompleted(level) ? R.color.level_completed : R.color.level_unlocked;
+            holder.tvLevel.setBackgroundTintList(ContextCompat.getColorStateList(context, color));
+            holder.tvLevel.setTextColor(ContextCompat.getColor(context, R.color.text_white));
+            holder.tvLevel.setText(String.valueOf(level));
+            holder.tvLevel.setEnabled(true);
+            holder.tvLevel.setOnClickListener(v -> listener.onLevelClick(level));
+        } else {
+            holder.tvLevel.setBackgroundTintList(ContextCompat.getColorStateList(context, R.color.level_locked));
+            holder.tvLevel.setTextColor(ContextCompat.getColor(context, R.color.text_secondary));
+            holder.tvLevel.setText("🔒");
+            holder.tvLevel.setEnabled(false);
+            holder.tvLevel.setOnClickListener(null);
+        }
+    }
+
+    @Override
+    public int getItemCount() {
+        return levelCount;
+    }
+
+    // Rebinds just the levels that differ from what is shown
+    public void update(int levelCount, ProgressStore.Snapshot progress) {
+        ProgressStore.Snapshot previous = this.progress;
+        this.progress = progress;
+        if (levelCount != this.levelCount) {
+            this.levelCount = levelCount;
+            notifyDataSetChanged();
+            return;
+        }
+        for (int level : progress.changedLevels(previous, levelCount)) {
+            notifyItemChanged(level - 1);
+        }
+    }
+
+    static class LevelViewHolder extends RecyclerView.ViewHolder {
+        TextView tvLevel;
+
+        LevelViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvLevel = itemView.findViewById(R.id.tvLevel);
+        }
+    }
+}
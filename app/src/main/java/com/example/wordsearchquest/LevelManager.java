@@ -2,196 +2,295 @@ package com.example.wordsearchquest;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.content.res.AssetManager;
+import android.content.res.AssetFileDescriptor;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.AtomicFile;
 import android.util.Log;
 
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import com.example.wordsearchquest.core.LetterDistribution;
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.LevelPackReader;
+import com.example.wordsearchquest.core.ProgressStore;
+import com.example.wordsearchquest.core.WordGridGenerator;
 
-import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class LevelManager {
+    
+    public interface LevelCountListener {
+        void onLevelCount(int levelCount);
+    }
+    
+    private static final String TAG = "LevelManager";
+    private static final String PROGRESS_FILE = "progress.bin";
+    // Where progress lived before the progress file; only read once to migrate it
     private static final String PREFS_NAME = "WordSearchPrefs";
     private static final String KEY_CURRENT_LEVEL = "current_level";
     private static final String KEY_LEVEL_COMPLETED = "level_completed_";
     private static final String KEY_LEVEL_SCORE = "level_score_";
-    private static final String KEY_TOTAL_SCORE = "total_score";
+    private static final String KEY_ENDLESS_LEVEL = "endless_level";
+    private static final String KEY_ENDLESS_BEST_SCORE = "endless_best_score";
+    private static final String KEY_ENDLESS_SEED = "endless_seed";
+    // Compiled from the level files at build time by :core:compileLevelPack
+    private static final String LEVEL_PACK_ASSET = "levels.pack";
+    
+    // Saves run one at a time off the main thread, and each one writes every change made before it.
+    // The progress file is read here too, ahead of any save.
+    private static final ExecutorService progressWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Opening the level pack is file I/O, so screens that need the level count wait for it here
+    private static final ExecutorService levelPackLoader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "level-pack-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    
+    private static LevelPackReader levelPack;
+    private static Future<ProgressStore> progressLoad;
+    private static ProgressStore progressStore;
+    private static AtomicFile progressFile;
     
     private Context context;
-    private SharedPreferences prefs;
     
     public LevelManager(Context context) {
         this.context = context;
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        
-        // Initialize first level as unlocked if no progress exists
-        if (getCurrentUnlockedLevel() == 0) {
-            unlockLevel(1);
-        }
+        startProgressLoad(context);
     }
     
     public int getCurrentUnlockedLevel() {
-        return prefs.getInt(KEY_CURRENT_LEVEL, 1);
+        return progress().getUnlockedLevel();
     }
     
     public void unlockLevel(int level) {
-        SharedPreferences.Editor editor = prefs.edit();
-        int currentUnlocked = getCurrentUnlockedLevel();
-        if (level > currentUnlocked) {
-            editor.putInt(KEY_CURRENT_LEVEL, level);
-        }
-        editor.apply();
+        progress().unlock(level);
+        save();
     }
     
     public boolean isLevelCompleted(int level) {
-        return prefs.getBoolean(KEY_LEVEL_COMPLETED + level, false);
+        return progress().isCompleted(level);
     }
     
     public void markLevelCompleted(int level, int score) {
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.putBoolean(KEY_LEVEL_COMPLETED + level, true);
-        
-        // Save score if it's better than previous
-        int previousScore = getLevelScore(level);
-        if (score > previousScore) {
-            editor.putInt(KEY_LEVEL_SCORE + level, score);
-        }
-        
-        // Unlock next level
-        if (level < 20) {
-            unlockLevel(level + 1);
+        // Completion, best score, total and the unlock all land in one write
+        progress().markCompleted(level, score);
+        if (level < getLevelCount()) {
+            progress().unlock(level + 1);
         }
-        
-        // Update total score
-        updateTotalScore();
-        
-        editor.apply();
+        save();
     }
     
     public int getLevelScore(int level) {
-        return prefs.getInt(KEY_LEVEL_SCORE + level, 0);
+        return progress().getBestScore(level);
     }
     
     public int getTotalScore() {
-        return prefs.getInt(KEY_TOTAL_SCORE, 0);
+        return progress().getTotalScore();
+    }
+    
+    // Completion and unlocks of every level in one copy, for the level select screen
+    public ProgressStore.Snapshot getProgressSnapshot() {
+        return progress().snapshot();
     }
     
-    private void updateTotalScore() {
-        int totalScore = 0;
-        for (int i = 1; i <= 20; i++) {
-            totalScore += getLevelScore(i);
+    // Next endless level to play; endless levels have no end, so there is nothing to unlock
+    public int getEndlessLevel() {
+        return progress().getEndlessLevel();
+    }
+    
+    public int getEndlessBestScore() {
+        return progress().getEndlessBestScore();
+    }
+    
+    public void markEndlessLevelCompleted(int level, int score) {
+        progress().markEndlessCompleted(level, score);
+        save();
+    }
+    
+    // Picked once per install, so endless level N keeps its words across sessions
+    public long getEndlessSeed() {
+        ProgressStore store = progress();
+        synchronized (store) {
+            if (!store.hasEndlessSeed()) {
+                store.setEndlessSeed(new SplittableRandom().nextLong());
+                save();
+            }
+            return store.getEndlessSeed();
+        }
+    }
+    
+    // Runs the callback on the main thread once the progress file has been read
+    public void whenProgressLoaded(Runnable callback) {
+        // Queued behind the read on the same thread, so no thread sits waiting for it
+        progressWriter.execute(() -> mainHandler.post(callback));
+    }
+    
+    // One store for the whole process, read from the progress file on the writer thread the first
+    // time a LevelManager is created
+    private static synchronized void startProgressLoad(Context context) {
+        if (progressLoad == null) {
+            Context appContext = context.getApplicationContext();
+            progressLoad = progressWriter.submit(() -> {
+                progressStore = readProgress(appContext);
+                return progressStore;
+            });
+        }
+    }
+    
+    private static ProgressStore readProgress(Context appContext) {
+        progressFile = new AtomicFile(new File(appContext.getFilesDir(), PROGRESS_FILE));
+        try (FileInputStream in = progressFile.openRead()) {
+            return ProgressStore.read(in);
+        } catch (FileNotFoundException e) {
+            return migrate(appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE));
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading progress, starting over", e);
+            return new ProgressStore();
         }
-        prefs.edit().putInt(KEY_TOTAL_SCORE, totalScore).apply();
     }
     
-    public LevelData getLevelData(int level) {
+    // Only waits if called right after launch, before the read has finished; whenProgressLoaded
+    // and loadLevelCount call back once it has
+    private static ProgressStore progress() {
         try {
-            String fileName = getFileNameForLevel(level);
-            String jsonString = loadJSONFromAsset(fileName);
-            
-            if (jsonString != null) {
-                JSONObject jsonObject = new JSONObject(jsonString);
-                JSONArray levelsArray = jsonObject.getJSONArray("levels");
-                
-                // Find the specific level
-                for (int i = 0; i < levelsArray.length(); i++) {
-                    JSONObject levelObj = levelsArray.getJSONObject(i);
-                    if (levelObj.getInt("level") == level) {
-                        return parseLevelData(levelObj);
-                    }
+            return progressLoad.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Reading progress failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading progress", e);
+        }
+    }
+    
+    // Carries progress over from the old one-key-per-value preferences, which are cleared once
+    // the progress file is written
+    private static ProgressStore migrate(SharedPreferences prefs) {
+        ProgressStore store = new ProgressStore();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(KEY_LEVEL_COMPLETED) && Boolean.TRUE.equals(entry.getValue())) {
+                try {
+                    int level = Integer.parseInt(key.substring(KEY_LEVEL_COMPLETED.length()));
+                    store.markCompleted(level, prefs.getInt(KEY_LEVEL_SCORE + level, 0));
+                } catch (IllegalArgumentException e) {
+                    Log.w(TAG, "Skipping unreadable progress key " + key);
                 }
             }
-        } catch (JSONException e) {
-            Log.e("LevelManager", "Error parsing level data: " + e.getMessage());
+        }
+        store.unlock(prefs.getInt(KEY_CURRENT_LEVEL, 1));
+        // Stored as the next level to play
+        store.markEndlessCompleted(prefs.getInt(KEY_ENDLESS_LEVEL, 1) - 1, prefs.getInt(KEY_ENDLESS_BEST_SCORE, 0));
+        if (prefs.contains(KEY_ENDLESS_SEED)) {
+            store.setEndlessSeed(prefs.getLong(KEY_ENDLESS_SEED, 0L));
         }
         
-        // Return default data if parsing fails
-        return getDefaultLevelData(level);
+        if (writeProgress(store) && !prefs.getAll().isEmpty()) {
+            prefs.edit().clear().apply();
+        }
+        return store;
     }
     
-    private String getFileNameForLevel(int level) {
-        if (level <= 5) return "words_easy.json";
-        else if (level <= 10) return "words_medium.json";
-        else if (level <= 15) return "words_hard.json";
-        else return "words_expert.json";
+    private static void save() {
+        progressWriter.execute(() -> writeProgress(progressStore));
     }
     
-    private String loadJSONFromAsset(String fileName) {
-        StringBuilder stringBuilder = new StringBuilder();
+    // Each snapshot holds the whole record, so a failed write is made good by the next one
+    private static boolean writeProgress(ProgressStore store) {
+        byte[] snapshot = store.snapshotIfChanged();
+        if (snapshot == null) {
+            return true;
+        }
+        FileOutputStream out = null;
         try {
-            AssetManager assetManager = context.getAssets();
-            InputStream inputStream = assetManager.open(fileName);
-            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-            
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                stringBuilder.append(line);
+            out = progressFile.startWrite();
+            out.write(snapshot);
+            progressFile.finishWrite(out);
+            return true;
+        } catch (IOException e) {
+            if (out != null) {
+                progressFile.failWrite(out);
             }
-            
-            bufferedReader.close();
-            inputStream.close();
-            
+            Log.e(TAG, "Error saving progress", e);
+            return false;
+        }
+    }
+    
+    // One reader for the whole process; opening it reads just the pack's offset index, and each
+    // level after that is one positional read
+    public static synchronized LevelPackReader getLevelPack(Context context) throws IOException {
+        if (levelPack == null) {
+            // Needs the asset stored uncompressed, see androidResources.noCompress
+            AssetFileDescriptor descriptor = context.getApplicationContext().getAssets().openFd(LEVEL_PACK_ASSET);
+            FileInputStream stream = new FileInputStream(descriptor.getFileDescriptor());
+            levelPack = new LevelPackReader(stream.getChannel(), descriptor.getStartOffset());
+        }
+        return levelPack;
+    }
+    
+    // Opens the level pack off the main thread if it is not open yet; the listener gets the count
+    // on the main thread, with progress read by then as well
+    public void loadLevelCount(LevelCountListener listener) {
+        levelPackLoader.execute(() -> {
+            int levelCount = getLevelCount();
+            progress();
+            mainHandler.post(() -> listener.onLevelCount(levelCount));
+        });
+    }
+    
+    // Bundled levels are numbered from 1 up to this. Opens the level pack the first time, so the
+    // main thread should use loadLevelCount instead.
+    public int getLevelCount() {
+        try {
+            return getLevelPack(context).getLevelCount();
         } catch (IOException e) {
-            Log.e("LevelManager", "Error loading JSON file: " + e.getMessage());
-            return null;
+            Log.e(TAG, "Error opening the level pack", e);
+            return 0;
         }
-        
-        return stringBuilder.toString();
     }
     
-    private LevelData parseLevelData(JSONObject levelObj) throws JSONException {
-        int level = levelObj.getInt("level");
-        String difficulty = levelObj.getString("difficulty");
-        int gridSize = levelObj.getInt("gridSize");
-        int timeLimit = levelObj.getInt("timeLimit");
-        
-        JSONArray wordsArray = levelObj.getJSONArray("words");
-        List<String> words = new ArrayList<>();
-        
-        for (int i = 0; i < wordsArray.length(); i++) {
-            words.add(wordsArray.getString(i));
+    public LevelDefinition getLevelData(int level) {
+        try {
+            LevelDefinition definition = getLevelPack(context).read(level);
+            if (definition != null) {
+                return definition;
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error loading level data: " + e.getMessage());
         }
         
-        return new LevelData(level, difficulty, gridSize, timeLimit, words);
+        // Return default data if parsing fails
+        return getDefaultLevelData(level);
     }
     
-    private LevelData getDefaultLevelData(int level) {
+    private LevelDefinition getDefaultLevelData(int level) {
         List<String> defaultWords = new ArrayList<>();
         defaultWords.add("DEFAULT");
         defaultWords.add("WORD");
         defaultWords.add("LIST");
         
-        return new LevelData(level, "Easy", 6, 300, defaultWords);
+        return new LevelDefinition(level, "Easy", 6, 300, defaultWords, WordGridGenerator.FORWARD_DIRECTIONS,
+            LetterDistribution.UNIFORM);
     }
     
     public void resetProgress() {
-        SharedPreferences.Editor editor = prefs.edit();
-        editor.clear();
-        editor.apply();
-        
-        // Unlock first level again
-        unlockLevel(1);
-    }
-    
-    public static class LevelData {
-        public final int level;
-        public final String difficulty;
-        public final int gridSize;
-        public final int timeLimit;
-        public final List<String> words;
-        
-        public LevelData(int level, String difficulty, int gridSize, int timeLimit, List<String> words) {
-            this.level = level;
-            this.difficulty = difficulty;
-            this.gridSize = gridSize;
-            this.timeLimit = timeLimit;
-            this.words = words;
-        }
+        progress().reset();
+        save();
     }
 }
\ No newline at end of file
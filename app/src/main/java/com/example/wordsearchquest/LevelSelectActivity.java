@@ -2,19 +2,20 @@ package com.example.wordsearchquest;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.view.View;
-import android.widget.Button;
-import android.widget.GridLayout;
 import android.widget.ImageButton;
 
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 public class LevelSelectActivity extends AppCompatActivity {
 
-    private GridLayout gridLevels;
+    private static final int COLUMNS = 4;
+
+    private RecyclerView recyclerLevels;
     private ImageButton btnBack;
     private LevelManager levelManager;
+    private LevelAdapter levelAdapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -23,12 +24,13 @@ public class LevelSelectActivity extends AppCompatActivity {
         
         initViews();
         initLevelManager();
-        setupLevelButtons();
         setupClickListeners();
     }
 
     private void initViews() {
-        gridLevels = findViewById(R.id.gridLevels);
+        recyclerLevels = findViewById(R.id.recyclerLevels);
+        recyclerLevels.setLayoutManager(new GridLayoutManager(this, COLUMNS));
+        recyclerLevels.setHasFixedSize(true);
         btnBack = findViewById(R.id.btnBack);
     }
 
@@ -36,64 +38,24 @@ public class LevelSelectActivity extends AppCompatActivity {
         levelManager = new LevelManager(this);
     }
 
-    private void setupLevelButtons() {
-        int currentUnlocked = levelManager.getCurrentUnlockedLevel();
-        
-        // Clear existing buttons
-        gridLevels.removeAllViews();
-        
-        // Create 20 level buttons
-        for (int level = 1; level <= 20; level++) {
-            Button levelButton = createLevelButton(level, currentUnlocked);
-            gridLevels.addView(levelButton);
+    private void showLevels(int levelCount) {
+        if (isDestroyed()) {
+            return;
+        }
+        if (levelAdapter != null) {
+            // Rebind only the levels whose progress changed while away
+            levelAdapter.update(levelCount, levelManager.getProgressSnapshot());
+            return;
         }
-    }
-
-    private Button createLevelButton(int level, int currentUnlocked) {
-        Button button = new Button(this);
-        
-        // Set button properties
-        GridLayout.LayoutParams params = new GridLayout.LayoutParams();
-        params.width = 0;
-        params.height = 120; // Fixed height for consistency
-        params.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, 1, 1f);
-        params.setMargins(12, 12, 12, 12);
-        button.setLayoutParams(params);
         
-        // Set text and styling based on level status
-        button.setText(String.valueOf(level));
-        button.setTextSize(18); // Larger text for better visibility
-        button.setPadding(16, 24, 16, 24);
-        button.setMinHeight(120); // Ensure minimum height
+        levelAdapter = new LevelAdapter(levelCount, levelManager.getProgressSnapshot(), this::startLevel);
+        recyclerLevels.setAdapter(levelAdapter);
         
-        if (level <= currentUnlocked) {
-            // Level is unlocked
-            if (levelManager.isLevelCompleted(level)) {
-                // Level is completed
-                button.setBackgroundResource(R.drawable.bg_level_item);
-                button.setBackgroundTintList(ContextCompat.getColorStateList(this, R.color.level_completed));
-                button.setTextColor(ContextCompat.getColor(this, R.color.text_white));
-            } else {
-                // Level is available but not completed
-                button.setBackgroundResource(R.drawable.bg_level_item);
-                button.setBackgroundTintList(ContextCompat.getColorStateList(this, R.color.level_unlocked));
-                button.setTextColor(ContextCompat.getColor(this, R.color.text_white));
-            }
-            
-            // Set click listener for unlocked levels
-            button.setOnClickListener(v -> startLevel(level));
-            button.setEnabled(true);
-            
-        } else {
-            // Level is locked
-            button.setBackgroundResource(R.drawable.bg_level_item);
-            button.setBackgroundTintList(ContextCompat.getColorStateList(this, R.color.level_locked));
-            button.setTextColor(ContextCompat.getColor(this, R.color.text_secondary));
-            button.setEnabled(false);
-            button.setText("🔒");
+        // Open on the level the player is up to rather than level 1
+        int current = Math.min(levelManager.getCurrentUnlockedLevel(), levelCount);
+        if (current > 1) {
+            recyclerLevels.scrollToPosition(current - 1);
         }
-        
-        return button;
     }
 
     private void setupClickListeners() {
@@ -111,7 +73,7 @@ public class LevelSelectActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh level buttons in case progress changed
-        setupLevelButtons();
+        // The list appears once the level pack is open, which is usually already the case
+        levelManager.loadLevelCount(this::showLevels);
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 public class MainActivity extends AppCompatActivity {
 
-    private Button btnStartGame, btnLevelSelect, btnHowToPlay, btnExit;
+    private Button btnStartGame, btnEndless, btnLevelSelect, btnHowToPlay, btnExit;
     private LevelManager levelManager;
 
     @Override
@@ -20,10 +20,12 @@ public class MainActivity extends AppCompatActivity {
         initViews();
         initLevelManager();
         setupClickListeners();
+        GridPrefetcher.getInstance().warmLevels(this);
     }
 
     private void initViews() {
         btnStartGame = findViewById(R.id.btnStartGame);
+        btnEndless = findViewById(R.id.btnEndless);
         btnLevelSelect = findViewById(R.id.btnLevelSelect);
         btnHowToPlay = findViewById(R.id.btnHowToPlay);
         btnExit = findViewById(R.id.btnExit);
@@ -40,6 +42,16 @@ public class MainActivity extends AppCompatActivity {
             startGameActivity(currentLevel);
         });
 
+        btnEndless.setOnClickListener(v -> {
+            int endlessLevel = levelManager.getEndlessLevel();
+            // Gets the pipeline going while the game screen comes up
+            EndlessMode.getInstance(this).prefetch(endlessLevel);
+            Intent intent = new Intent(MainActivity.this, GameActivity.class);
+            intent.putExtra("level", endlessLevel);
+            intent.putExtra("endless", true);
+            startActivity(intent);
+        });
+
         btnLevelSelect.setOnClickListener(v -> {
             Intent intent = new Intent(MainActivity.this, LevelSelectActivity.class);
             startActivity(intent);
@@ -57,19 +69,33 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void startGameActivity(int level) {
-        if (level > 20) {
-            Toast.makeText(this, R.string.no_more_levels, Toast.LENGTH_SHORT).show();
-            return;
-        }
-        
-        Intent intent = new Intent(MainActivity.this, GameActivity.class);
-        intent.putExtra("level", level);
-        startActivity(intent);
+        levelManager.loadLevelCount(levelCount -> {
+            if (isDestroyed()) {
+                return;
+            }
+            if (level > levelCount) {
+                Toast.makeText(this, R.string.no_more_levels, Toast.LENGTH_SHORT).show();
+                return;
+            }
+            
+            Intent intent = new Intent(MainActivity.this, GameActivity.class);
+            intent.putExtra("level", level);
+            startActivity(intent);
+        });
     }
 
     @Override
     protected void onResume() {
         super.onResume();
         // Refresh any UI that might have changed
+        
+        // Start building the next endless levels while the player is still in the menu, but only
+        // for players who have played endless mode; the pipeline picks a seed and opens the corpus
+        levelManager.whenProgressLoaded(() -> {
+            int endlessLevel = levelManager.getEndlessLevel();
+            if (!isDestroyed() && endlessLevel > 1) {
+                EndlessMode.getInstance(this).prefetch(endlessLevel);
+            }
+        });
     }
 }
@@ -22,6 +22,9 @@ public class ResultActivity extends AppCompatActivity {
     private boolean isWon;
     private int wordsFound;
     private int totalWords;
+    private boolean isEndless;
+    private int timeLimit;
+    private int levelCount;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -32,6 +35,7 @@ public class ResultActivity extends AppCompatActivity {
         initViews();
         setupResultDisplay();
         setupClickListeners();
+        prefetchUpcomingGrids();
     }
 
     private void getResultData() {
@@ -42,6 +46,10 @@ public class ResultActivity extends AppCompatActivity {
         isWon = intent.getBooleanExtra("isWon", false);
         wordsFound = intent.getIntExtra("wordsFound", 0);
         totalWords = intent.getIntExtra("totalWords", 0);
+        isEndless = intent.getBooleanExtra("endless", false);
+        timeLimit = intent.getIntExtra("timeLimit", 0);
+        // Only campaign results need it, and the campaign level just played was read from the open pack
+        levelCount = isEndless ? 0 : new LevelManager(this).getLevelCount();
     }
 
     private void initViews() {
@@ -65,7 +73,7 @@ public class ResultActivity extends AppCompatActivity {
             ivResultIcon.setColorFilter(getColor(R.color.accent));
             
             // Show next level button only if not the last level
-            if (currentLevel < 20) {
+            if (isEndless || currentLevel < levelCount) {
                 btnNextLevel.setVisibility(android.view.View.VISIBLE);
             } else {
                 btnNextLevel.setVisibility(android.view.View.GONE);
@@ -86,9 +94,8 @@ public class ResultActivity extends AppCompatActivity {
         tvFinalScore.setText(String.format(Locale.getDefault(), "%,d", finalScore));
         
         // Set time taken (original time limit - remaining time)
-        LevelManager levelManager = new LevelManager(this);
-        LevelManager.LevelData levelData = levelManager.getLevelData(currentLevel);
-        int timeTaken = levelData.timeLimit - timeRemaining;
+        // The time limit comes with the result, so nothing is looked up again
+        int timeTaken = timeLimit - timeRemaining;
         int minutes = timeTaken / 60;
         int seconds = timeTaken % 60;
         tvTimeTaken.setText(String.format(Locale.getDefault(), "%02d:%02d", minutes, seconds));
@@ -97,11 +104,28 @@ public class ResultActivity extends AppCompatActivity {
         tvWordsFoundCount.setText(String.format(Locale.getDefault(), "%d/%d", wordsFound, totalWords));
     }
 
+    private void prefetchUpcomingGrids() {
+        if (isEndless) {
+            if (isWon) {
+                EndlessMode.getInstance(this).prefetch(currentLevel + 1);
+            }
+            return;
+        }
+        
+        // Usually already queued by the game screen, in which case this is a no-op
+        GridPrefetcher prefetcher = GridPrefetcher.getInstance();
+        prefetcher.prefetch(this, currentLevel);
+        if (isWon && currentLevel < levelCount) {
+            prefetcher.prefetch(this, currentLevel + 1);
+        }
+    }
+
     private void setupClickListeners() {
         btnNextLevel.setOnClickListener(v -> {
-            if (currentLevel < 20) {
+            if (isEndless || currentLevel < levelCount) {
                 Intent intent = new Intent(ResultActivity.this, GameActivity.class);
                 intent.putExtra("level", currentLevel + 1);
+                intent.putExtra("endless", isEndless);
                 startActivity(intent);
                 finish();
             }
@@ -110,6 +134,7 @@ public class ResultActivity extends AppCompatActivity {
         btnRetryLevel.setOnClickListener(v -> {
             Intent intent = new Intent(ResultActivity.this, GameActivity.class);
             intent.putExtra("level", currentLevel);
+            intent.putExtra("endless", isEndless);
             startActivity(intent);
             finish();
         });
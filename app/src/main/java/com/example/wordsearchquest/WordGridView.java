@@ -10,13 +10,22 @@ import android.view.MotionEvent;
 import android.view.View;
 import androidx.core.content.ContextCompat;
 
+import com.example.wordsearchquest.core.WordGridGenerator;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class WordGridView extends View {
 
     private char[][] grid;
-    private int gridSize;
+    // Handcrafted grids need not be square
+    private int rows;
+    private int cols;
     private float cellSize;
     private Paint textPaint;
     private Paint backgroundPaint;
@@ -30,19 +39,38 @@ public class WordGridView extends View {
     private List<List<GridCell>> foundWordCells;
     private List<Paint> foundWordPaints; // Different paint for each found word
     
+    // Dictionary words the grid spells by chance, found for extra points only
+    private Set<String> bonusWords = Collections.emptySet();
+    private Set<String> foundBonusWords;
+    private List<List<GridCell>> bonusWordCells;
+    private Paint bonusWordPaint;
+    
+    // Words revealed by a generator thread while the skeleton is up, applied on the next frame
+    private final ConcurrentLinkedQueue<WordGridGenerator.WordPlacement> pendingWords = new ConcurrentLinkedQueue<>();
+    private boolean showingSkeleton = false;
+    
     private boolean isSelecting = false;
     private int startRow = -1, startCol = -1;
     private int endRow = -1, endCol = -1;
     
     private OnWordSelectedListener listener;
+    private OnBonusWordSelectedListener bonusListener;
     
     public interface OnWordSelectedListener {
         void onWordSelected(String word);
     }
     
+    public interface OnBonusWordSelectedListener {
+        void onBonusWordSelected(String word);
+    }
+    
     public void setOnWordSelectedListener(OnWordSelectedListener listener) {
         this.listener = listener;
     }
+    
+    public void setOnBonusWordSelectedListener(OnBonusWordSelectedListener listener) {
+        this.bonusListener = listener;
+    }
 
     public WordGridView(Context context) {
         super(context);
@@ -59,6 +87,8 @@ public class WordGridView extends View {
         selectedCells = new ArrayList<>();
         foundWordCells = new ArrayList<>();
         foundWordPaints = new ArrayList<>();
+        foundBonusWords = new HashSet<>();
+        bonusWordCells = new ArrayList<>();
         
         // Initialize paints
         textPaint = new Paint();
@@ -79,6 +109,11 @@ public class WordGridView extends View {
         foundWordPaint.setColor(ContextCompat.getColor(getContext(), R.color.found_word));
         foundWordPaint.setAlpha(128);
         
+        bonusWordPaint = new Paint();
+        bonusWordPaint.setAntiAlias(true);
+        bonusWordPaint.setColor(ContextCompat.getColor(getContext(), R.color.selected_word));
+        bonusWordPaint.setAlpha(64);
+        
         borderPaint = new Paint();
         borderPaint.setColor(ContextCompat.getColor(getContext(), R.color.grid_border));
         borderPaint.setStrokeWidth(2f);
@@ -87,30 +122,91 @@ public class WordGridView extends View {
 
     public void setGridData(char[][] grid, List<WordGridGenerator.WordPlacement> wordPlacements) {
         this.grid = grid;
-        this.gridSize = grid.length;
+        this.rows = grid.length;
+        this.cols = rows > 0 ? grid[0].length : 0;
         this.wordPlacements = wordPlacements;
         this.foundWords.clear();
         this.foundWordCells.clear();
         this.foundWordPaints.clear();
+        this.bonusWords = Collections.emptySet();
+        this.foundBonusWords.clear();
+        this.bonusWordCells.clear();
+        showingSkeleton = false;
+        pendingWords.clear();
+        updateCellSize();
         invalidate();
     }
+    
+    // Upper case words that count as bonus words in the current grid, see BonusWords
+    public void setBonusWords(Set<String> bonusWords) {
+        this.bonusWords = bonusWords != null ? bonusWords : Collections.emptySet();
+    }
+    
+    // Shows an empty grid of the given size while the real one is still being generated. Words
+    // passed to revealWord fill in as they are placed, and setGridData completes the grid.
+    public void showSkeleton(int size) {
+        char[][] skeleton = new char[size][size];
+        for (char[] row : skeleton) {
+            Arrays.fill(row, ' ');
+        }
+        setGridData(skeleton, Collections.emptyList());
+        showingSkeleton = true;
+    }
+    
+    // Safe to call from any thread
+    public void revealWord(WordGridGenerator.WordPlacement placement) {
+        pendingWords.add(placement);
+        postInvalidateOnAnimation();
+    }
+    
+    private void applyPendingWords() {
+        WordGridGenerator.WordPlacement placement;
+        while ((placement = pendingWords.poll()) != null) {
+            if (!showingSkeleton) continue;
+            
+            for (int i = 0; i < placement.word.length(); i++) {
+                int row = placement.startRow + i * placement.direction.dRow;
+                int col = placement.startCol + i * placement.direction.dCol;
+                if (row >= 0 && row < rows && col >= 0 && col < cols) {
+                    grid[row][col] = placement.word.charAt(i);
+                }
+            }
+        }
+    }
+    
+    private void updateCellSize() {
+        if (getWidth() > 0) {
+            updateCellSize(getWidth(), getHeight());
+        }
+    }
+    
+    private void updateCellSize(int width, int height) {
+        if (rows > 0 && cols > 0) {
+            cellSize = Math.min(width / (float) cols, height / (float) rows);
+        }
+    }
 
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
-        if (gridSize > 0) {
-            cellSize = Math.min(w, h) / (float) gridSize;
-        }
+        updateCellSize(w, h);
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
         
-        if (grid == null || gridSize == 0) return;
+        if (grid == null || rows == 0 || cols == 0) return;
+        
+        applyPendingWords();
         
         // Draw background
-        canvas.drawRect(0, 0, cellSize * gridSize, cellSize * gridSize, backgroundPaint);
+        canvas.drawRect(0, 0, cellSize * cols, cellSize * rows, backgroundPaint);
+        
+        // Bonus words sit faintly under the puzzle's own words
+        for (List<GridCell> wordCells : bonusWordCells) {
+            drawWordHighlight(canvas, wordCells, bonusWordPaint);
+        }
         
         // Draw found words highlighting with different colors
         for (int i = 0; i < foundWordCells.size(); i++) {
@@ -125,8 +221,8 @@ public class WordGridView extends View {
         }
         
         // Draw grid lines and letters
-        for (int row = 0; row < gridSize; row++) {
-            for (int col = 0; col < gridSize; col++) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
                 float x = col * cellSize;
                 float y = row * cellSize;
                 
@@ -188,6 +284,9 @@ public class WordGridView extends View {
 
     @Override
     public boolean onTouchEvent(MotionEvent event) {
+        // Nothing can be found until the finished grid is in
+        if (showingSkeleton) return false;
+        
         switch (event.getAction()) {
             case MotionEvent.ACTION_DOWN:
                 startSelection(event.getX(), event.getY());
@@ -239,19 +338,41 @@ public class WordGridView extends View {
             if (listener != null) {
                 listener.onWordSelected(selectedWord);
             }
+        } else {
+            checkBonusWord();
         }
         
         selectedCells.clear();
         invalidate();
     }
 
+    private void checkBonusWord() {
+        if (bonusWords.isEmpty() || selectedCells.isEmpty()) return;
+        
+        StringBuilder letters = new StringBuilder();
+        for (GridCell cell : selectedCells) {
+            letters.append(Character.toUpperCase(grid[cell.row][cell.col]));
+        }
+        String forward = letters.toString();
+        String backward = letters.reverse().toString();
+        String word = bonusWords.contains(forward) ? forward : bonusWords.contains(backward) ? backward : null;
+        
+        // Each bonus word pays out once, wherever it is selected
+        if (word != null && foundBonusWords.add(word)) {
+            bonusWordCells.add(new ArrayList<>(selectedCells));
+            if (bonusListener != null) {
+                bonusListener.onBonusWordSelected(word);
+            }
+        }
+    }
+
     private GridCell getCellFromCoordinates(float x, float y) {
         if (cellSize == 0) return null;
         
         int col = (int) (x / cellSize);
         int row = (int) (y / cellSize);
         
-        if (row >= 0 && row < gridSize && col >= 0 && col < gridSize) {
+        if (row >= 0 && row < rows && col >= 0 && col < cols) {
             return new GridCell(row, col);
         }
         return null;
@@ -0,0 +1,77 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.WordAutomaton;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 12x12 grid generated with no blocklist, the bundled one and 5000 random entries, as a full
+ * blocklist would have. The differences are what scanning the filled grid costs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlocklistBenchmark {
+
+    private static final List<String> WORDS = Arrays.asList("POP", "JAZZ", "DRUM", "HARP", "GUITAR", "MOONWALK");
+
+    @Param({"none", "bundled", "5000"})
+    public String blocklist;
+
+    private WordAutomaton automaton;
+    private long seed;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (blocklist) {
+            case "none":
+                automaton = WordAutomaton.EMPTY;
+                break;
+            case "bundled":
+                File file = new File(System.getProperty("levels.dir", "app/src/main/assets"), "blocklist.txt");
+                try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                    automaton = WordAutomaton.read(reader);
+                }
+                break;
+            default:
+                SplittableRandom random = new SplittableRandom(1);
+                List<String> words = new ArrayList<>();
+                for (int i = 0; i < Integer.parseInt(blocklist); i++) {
+                    char[] word = new char[4 + random.nextInt(5)];
+                    for (int j = 0; j < word.length; j++) {
+                        word[j] = (char) ('A' + random.nextInt(26));
+                    }
+                    words.add(new String(word));
+                }
+                automaton = new WordAutomaton(words);
+                break;
+        }
+    }
+
+    @Benchmark
+    public WordGridGenerator.GridResult generateGrid() {
+        GenerationOptions options = new GenerationOptions().blocklist(automaton).seed(seed++);
+        return WordGridGenerator.generateGrid(WORDS, 12, options);
+    }
+}
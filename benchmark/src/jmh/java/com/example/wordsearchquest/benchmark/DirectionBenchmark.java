@@ -0,0 +1,52 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every bundled level generated with the four forward directions and with all eight, so enabling
+ * reversed words on more levels can be judged on numbers rather than guesses. One call covers
+ * all levels.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DirectionBenchmark {
+
+    @Param({"forward", "all"})
+    public String directions;
+
+    private List<LevelDefinition> levels;
+    private Set<WordGridGenerator.Direction> allowed;
+    private long seed;
+
+    @Setup
+    public void setUp() throws IOException {
+        levels = LevelFiles.readAll();
+        allowed = WordGridGenerator.parseDirections(List.of(directions));
+    }
+
+    @Benchmark
+    public void generateAllLevels(Blackhole blackhole) {
+        for (LevelDefinition level : levels) {
+            GenerationOptions options = new GenerationOptions().directions(allowed).seed(seed++);
+            blackhole.consume(WordGridGenerator.generateGrid(level.words, level.gridSize, options));
+        }
+    }
+}
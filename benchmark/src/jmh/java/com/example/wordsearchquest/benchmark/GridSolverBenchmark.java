@@ -0,0 +1,58 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.GridSolver;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GridSolver.solve} on a random 300x300 grid against 500 random words of 4 to 9 letters,
+ * with the solver's automaton built once up front as a pasted-grid check would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GridSolverBenchmark {
+
+    private static final int GRID_SIZE = 300;
+    private static final int WORD_COUNT = 500;
+
+    private char[][] grid;
+    private GridSolver solver;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(5);
+        grid = new char[GRID_SIZE][GRID_SIZE];
+        for (char[] row : grid) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = (char) ('A' + random.nextInt(26));
+            }
+        }
+        List<String> words = new ArrayList<>(WORD_COUNT);
+        for (int i = 0; i < WORD_COUNT; i++) {
+            char[] word = new char[4 + random.nextInt(6)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(word));
+        }
+        solver = new GridSolver(words);
+    }
+
+    @Benchmark
+    public List<WordGridGenerator.WordPlacement> solve() {
+        return solver.solve(grid);
+    }
+}
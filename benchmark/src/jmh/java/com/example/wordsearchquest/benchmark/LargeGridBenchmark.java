@@ -0,0 +1,65 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.GenerationOptions;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synthetic grids beyond the bundled levels: the largest backtracking size, then marathon sizes
+ * up to 500x500. Words are random A-Z strings of 4 to 12 letters from a fixed seed. 250:3000 and
+ * 500:12000 have the same word density, so linear scaling shows as four times the time for the
+ * larger one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LargeGridBenchmark {
+
+    // gridSize:wordCount
+    @Param({"32:40", "50:150", "100:600", "250:3000", "500:12000"})
+    public String shape;
+
+    private List<String> words;
+    private int gridSize;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        String[] parts = shape.split(":");
+        gridSize = Integer.parseInt(parts[0]);
+        int wordCount = Integer.parseInt(parts[1]);
+
+        SplittableRandom random = new SplittableRandom(42);
+        words = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            char[] word = new char[4 + random.nextInt(9)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(word));
+        }
+    }
+
+    @Benchmark
+    public WordGridGenerator.GridResult generateGrid(PlacementCounters counters) {
+        GenerationOptions options = new GenerationOptions()
+            .directions(WordGridGenerator.ALL_DIRECTIONS)
+            .seed(seed++);
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, gridSize, options);
+        counters.record(result.wordPlacements.size(), words.size());
+        return result;
+    }
+}
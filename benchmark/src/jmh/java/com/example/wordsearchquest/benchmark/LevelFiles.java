@@ -0,0 +1,56 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.LevelJsonReader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+final class LevelFiles {
+
+    private static final String[] LEVEL_FILES = {
+        "words_easy.json", "words_medium.json", "words_hard.json", "words_expert.json"
+    };
+
+    private LevelFiles() {
+    }
+
+    // The build passes the app's asset directory in the levels.dir system property
+    static List<LevelDefinition> readAll() throws IOException {
+        File directory = new File(System.getProperty("levels.dir", "app/src/main/assets"));
+        List<LevelDefinition> levels = new ArrayList<>();
+        for (String fileName : LEVEL_FILES) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(new File(directory, fileName)),
+                    StandardCharsets.UTF_8)) {
+                levels.addAll(new LevelJsonReader(reader).readAll());
+            }
+        }
+        return levels;
+    }
+
+    static LevelDefinition read(int level) throws IOException {
+        for (LevelDefinition definition : readAll()) {
+            if (definition.level == level) {
+                return definition;
+            }
+        }
+        throw new IOException("No level " + level + " in " + System.getProperty("levels.dir", "app/src/main/assets"));
+    }
+
+    // Words the generator will try to place; longer ones are dropped before the search
+    static int placeableCount(List<String> words, int gridSize) {
+        int count = 0;
+        for (String word : words) {
+            if (!word.isEmpty() && word.length() <= gridSize) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
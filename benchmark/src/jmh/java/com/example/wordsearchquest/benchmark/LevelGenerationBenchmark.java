@@ -0,0 +1,49 @@
+package com.example.wordsearchquest.benchmark;
+
+import com.example.wordsearchquest.core.LevelDefinition;
+import com.example.wordsearchquest.core.WordGridGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code generateGrid} for every bundled level, with the level's own directions and filler. Each
+ * call uses the next seed in sequence, so runs are repeatable but never generate the same grid
+ * twice in a row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LevelGenerationBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10",
+            "11", "12", "13", "14", "15", "16", "17", "18", "19", "20"})
+    public int level;
+
+    private LevelDefinition definition;
+    private int placeable;
+    private long seed;
+
+    @Setup
+    public void setUp() throws IOException {
+        definition = LevelFiles.read(level);
+        placeable = LevelFiles.placeableCount(definition.words, definition.gridSize);
+    }
+
+    @Benchmark
+    public WordGridGenerator.GridResult generateGrid(PlacementCounters counters) {
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(
+            definition.words, definition.gridSize, definition.generationOptions().seed(seed++));
+        counters.record(result.wordPlacements.size(), placeable);
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.wordsearchquest.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Placement success, reported next to the timings. JMH adds these up per iteration, so the
+ * success rate is {@code completeGrids / (completeGrids + incompleteGrids)}.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PlacementCounters {
+
+    // Grids that got every word short enough to fit
+    public long completeGrids;
+    public long incompleteGrids;
+    public long missingWords;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        completeGrids = 0;
+        incompleteGrids = 0;
+        missingWords = 0;
+    }
+
+    void record(int placed, int placeable) {
+        if (placed == placeable) {
+            completeGrids++;
+        } else {
+            incompleteGrids++;
+            missingWords += placeable - placed;
+        }
+    }
+}
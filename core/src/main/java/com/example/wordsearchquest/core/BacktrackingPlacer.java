@@ -0,0 +1,303 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exhaustive word placement: every valid start of every word is enumerated up front, the most
+ * constrained word is placed first and dead ends are undone by backtracking. The search is bounded
+ * by a probe budget, so it either places every word, proves the set cannot fit, or gives up after
+ * a fixed amount of work and keeps the deepest partial layout it reached. A shared cancel flag lets
+ * several searches race and stop as soon as one of them succeeds.
+ *
+ * <p>All buffers are sized in the constructor; {@link #search()} itself allocates nothing.
+ */
+final class BacktrackingPlacer {
+
+    enum Outcome {
+        SOLVED, INFEASIBLE, BUDGET_EXHAUSTED, CANCELLED, TIMED_OUT
+    }
+
+    // Probes between reads of the cancel flag and the clock
+    private static final int CANCEL_CHECK_MASK = 0x3FF;
+    // Words with at least this many fitting starts count as unconstrained. Counting stops there,
+    // so the extra directions don't double the work on open grids; ties go to the longer word.
+    private static final int MRV_COUNT_CAP = 16;
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    private final GridBoard board;
+    private final List<String> words;
+    private final long probeBudget;
+    private final AtomicBoolean cancelled;
+    // The caller's own flag, when racing searches share the first one
+    private AtomicBoolean alsoCancelled;
+    private final SplittableRandom random;
+    private long probes;
+    private boolean stopped;
+    private boolean hasDeadline;
+    private long deadline;
+    private boolean timedOut;
+    // [word * directions + direction], only when stats are being collected
+    private long[] probeCounts;
+    private long[] rejectedCounts;
+
+    // [word][direction] -> start cells that keep the word inside the grid, empty for directions
+    // the level does not allow
+    private final int[][][] candidates;
+    private final int[] directionUsage = new int[DIRECTIONS.length];
+    // [depth] -> direction order scratch, so picking the least used direction allocates nothing
+    private final int[][] directionOrder;
+
+    private final boolean[] placed;
+    private final int[] placedDirection;
+    private final int[] placedStart;
+    private final int[] bestDirection;
+    private final int[] bestStart;
+    private int bestDepth = -1;
+
+    BacktrackingPlacer(GridBoard board, List<String> words, Set<WordGridGenerator.Direction> directions,
+                       SplittableRandom random, long probeBudget) {
+        this(board, words, directions, random, probeBudget, null);
+    }
+
+    BacktrackingPlacer(GridBoard board, List<String> words, Set<WordGridGenerator.Direction> directions,
+                       SplittableRandom random, long probeBudget, AtomicBoolean cancelled) {
+        this.board = board;
+        this.words = words;
+        this.probeBudget = probeBudget;
+        this.cancelled = cancelled;
+        this.random = random;
+
+        int wordCount = words.size();
+        this.placed = new boolean[wordCount];
+        this.placedDirection = new int[wordCount];
+        this.placedStart = new int[wordCount];
+        this.bestDirection = new int[wordCount];
+        this.bestStart = new int[wordCount];
+        // Nothing to restore until the search has recorded a layout
+        Arrays.fill(bestDirection, -1);
+        this.directionOrder = new int[wordCount + 1][DIRECTIONS.length];
+
+        this.candidates = new int[wordCount][][];
+        int[] scratch = new int[board.size * board.size];
+        for (int w = 0; w < wordCount; w++) {
+            candidates[w] = new int[DIRECTIONS.length][];
+            for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+                candidates[w][direction] = directions.contains(DIRECTIONS[direction])
+                    ? listStarts(words.get(w).length(), direction, scratch)
+                    : new int[0];
+            }
+        }
+    }
+
+    // Counts every probe into the given arrays, see GenerationStats
+    void recordProbes(long[] probeCounts, long[] rejectedCounts) {
+        this.probeCounts = probeCounts;
+        this.rejectedCounts = rejectedCounts;
+    }
+
+    // A second flag that stops the search as well, so a race can be called off by its caller too
+    void alsoCancelledBy(AtomicBoolean flag) {
+        this.alsoCancelled = flag;
+    }
+
+    // Stops the search once System.nanoTime() reaches the deadline, keeping the deepest layout so far
+    void stopAt(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadline = deadlineNanos;
+    }
+
+    Outcome search() {
+        stopped = shouldStop();
+        if (!stopped && solve(0)) {
+            return Outcome.SOLVED;
+        }
+
+        // Restore the deepest partial layout the search reached
+        for (int w = 0; w < placed.length; w++) {
+            if (bestDirection[w] >= 0) {
+                place(w, bestDirection[w], bestStart[w]);
+            }
+        }
+
+        if (!stopped) return Outcome.INFEASIBLE;
+        if (probes >= probeBudget) return Outcome.BUDGET_EXHAUSTED;
+        return timedOut ? Outcome.TIMED_OUT : Outcome.CANCELLED;
+    }
+
+    int placedCount() {
+        int count = 0;
+        for (boolean wordPlaced : placed) {
+            if (wordPlaced) count++;
+        }
+        return count;
+    }
+
+    List<WordGridGenerator.WordPlacement> getPlacements() {
+        int size = board.size;
+        List<WordGridGenerator.WordPlacement> placements = new ArrayList<>();
+        for (int w = 0; w < placed.length; w++) {
+            if (placed[w]) {
+                String word = words.get(w);
+                WordGridGenerator.Direction direction = DIRECTIONS[placedDirection[w]];
+                int startRow = placedStart[w] / size;
+                int startCol = placedStart[w] % size;
+                int endRow = startRow + direction.dRow * (word.length() - 1);
+                int endCol = startCol + direction.dCol * (word.length() - 1);
+                placements.add(new WordGridGenerator.WordPlacement(word, startRow, startCol, endRow, endCol, direction));
+            }
+        }
+        return placements;
+    }
+
+    private boolean solve(int depth) {
+        if (depth > bestDepth) {
+            bestDepth = depth;
+            for (int w = 0; w < placed.length; w++) {
+                bestDirection[w] = placed[w] ? placedDirection[w] : -1;
+                bestStart[w] = placedStart[w];
+            }
+        }
+        if (depth == words.size()) {
+            return true;
+        }
+
+        // Most constrained word first: the one with the fewest starts that still fit
+        int chosen = -1;
+        int fewest = MRV_COUNT_CAP + 1;
+        for (int w = 0; w < placed.length; w++) {
+            if (placed[w]) continue;
+
+            int count = countFits(w, fewest);
+            if (stopped) return false;
+            if (count == 0) return false;
+            if (count < fewest) {
+                fewest = count;
+                chosen = w;
+            }
+        }
+        if (chosen < 0) {
+            chosen = firstUnplaced();
+        }
+
+        // Try the least used directions first to keep the layout varied
+        int[] order = directionOrder[depth];
+        sortDirectionsByUsage(order);
+        for (int direction : order) {
+            int[] starts = candidates[chosen][direction];
+            for (int i = 0; i < starts.length; i++) {
+                // Shuffle as we go, so equally constrained layouts differ from game to game
+                // without paying to shuffle starts that are never tried
+                int j = i + random.nextInt(starts.length - i);
+                int start = starts[j];
+                starts[j] = starts[i];
+                starts[i] = start;
+
+                if (!fits(chosen, direction, start)) {
+                    if (stopped) return false;
+                    continue;
+                }
+
+                place(chosen, direction, start);
+                if (solve(depth + 1)) {
+                    return true;
+                }
+                remove(chosen);
+
+                if (stopped) return false;
+            }
+        }
+
+        return false;
+    }
+
+    private int firstUnplaced() {
+        for (int w = 0; w < placed.length; w++) {
+            if (!placed[w]) return w;
+        }
+        return -1;
+    }
+
+    private int countFits(int word, int limit) {
+        int count = 0;
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            for (int start : candidates[word][direction]) {
+                if (fits(word, direction, start)) {
+                    count++;
+                    if (count >= limit) return count;
+                }
+                if (stopped) return count;
+            }
+        }
+        return count;
+    }
+
+    private boolean fits(int word, int direction, int start) {
+        if (++probes >= probeBudget || ((probes & CANCEL_CHECK_MASK) == 0 && shouldStop())) {
+            stopped = true;
+        }
+        boolean fits = board.fits(words.get(word), start, direction);
+        if (probeCounts != null) {
+            int slot = word * DIRECTIONS.length + direction;
+            probeCounts[slot]++;
+            if (!fits) rejectedCounts[slot]++;
+        }
+        return fits;
+    }
+
+    private boolean shouldStop() {
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            timedOut = true;
+            return true;
+        }
+        return (cancelled != null && cancelled.get()) || (alsoCancelled != null && alsoCancelled.get());
+    }
+
+    private void place(int word, int direction, int start) {
+        board.write(words.get(word), start, direction);
+        placed[word] = true;
+        placedDirection[word] = direction;
+        placedStart[word] = start;
+        directionUsage[direction]++;
+    }
+
+    private void remove(int word) {
+        int direction = placedDirection[word];
+        board.erase(words.get(word), placedStart[word], direction);
+        placed[word] = false;
+        directionUsage[direction]--;
+    }
+
+    private void sortDirectionsByUsage(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            int j = i - 1;
+            while (j >= 0 && directionUsage[order[j]] > directionUsage[i]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = i;
+        }
+    }
+
+    private int[] listStarts(int length, int direction, int[] scratch) {
+        // The rows and columns a start can use follow directly from the direction's steps
+        WordGridGenerator.Direction d = DIRECTIONS[direction];
+        int size = board.size;
+        int span = length - 1;
+        int count = 0;
+        for (int row = Math.max(0, -d.dRow * span); row < size - Math.max(0, d.dRow * span); row++) {
+            for (int col = Math.max(0, -d.dCol * span); col < size - Math.max(0, d.dCol * span); col++) {
+                scratch[count++] = row * size + col;
+            }
+        }
+
+        int[] starts = new int[count];
+        System.arraycopy(scratch, 0, starts, 0, count);
+        return starts;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.wordsearchquest.core;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Finds the dictionary words a finished grid spells by chance, so players get bonus points for
+ * them. Every cell is tried as a start in all eight directions and each walk stops as soon as
+ * the letters so far are no prefix of a dictionary word, so the cost grows with the number of
+ * cells and the longest word, not with the size of the dictionary.
+ */
+public final class BonusWords {
+
+    public static final int MIN_LENGTH = 4;
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    private BonusWords() {
+    }
+
+    // Distinct bonus words in alphabetical order, leaving out the grid's own words
+    public static Set<String> find(WordGridGenerator.GridResult result, Dawg dictionary) {
+        Set<String> targets = new HashSet<>();
+        for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+            targets.add(placement.word.toUpperCase(Locale.ROOT));
+        }
+        return find(result.grid, dictionary, targets);
+    }
+
+    public static Set<String> find(char[][] grid, Dawg dictionary, Collection<String> excluded) {
+        Set<String> found = new TreeSet<>();
+        if (dictionary.isEmpty()) {
+            return found;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int row = 0; row < grid.length; row++) {
+            for (int col = 0; col < grid[row].length; col++) {
+                for (WordGridGenerator.Direction direction : DIRECTIONS) {
+                    walk(grid, row, col, direction, dictionary, word, found);
+                }
+            }
+        }
+        found.removeAll(excluded);
+        return found;
+    }
+
+    private static void walk(char[][] grid, int row, int col, WordGridGenerator.Direction direction,
+                             Dawg dictionary, StringBuilder word, Set<String> found) {
+        word.setLength(0);
+        int node = 0;
+        while (row >= 0 && row < grid.length && col >= 0 && col < grid[row].length) {
+            char c = Character.toUpperCase(grid[row][col]);
+            if (c < 'A' || c > 'Z') {
+                return;
+            }
+            int edge = dictionary.find(node, c);
+            if (edge < 0) {
+                return;
+            }
+            word.append(c);
+            if (word.length() >= MIN_LENGTH && dictionary.isWordEnd(edge)) {
+                found.add(word.toString());
+            }
+            node = dictionary.child(edge);
+            if (node == 0) {
+                return;
+            }
+            row += direction.dRow;
+            col += direction.dCol;
+        }
+    }
+}
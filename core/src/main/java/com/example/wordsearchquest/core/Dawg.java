@@ -0,0 +1,337 @@
+package com.example.wordsearchquest.core;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Directed acyclic word graph over A-Z: a trie whose identical subtrees are merged, so a large
+ * dictionary shares its common endings as well as its prefixes and fits in a few hundred
+ * kilobytes. The graph is one flat {@code int[]} of edges, which is also its file format, so
+ * loading a compiled dictionary is a single bulk read with no per-word work.
+ *
+ * <p>Each node is a run of edges sorted by letter. An edge packs its letter (bits 0-4), whether a
+ * word ends with it (bit 5), whether it is the node's last edge (bit 6) and the index of the
+ * child node's first edge (the remaining bits, 0 for none). The root node starts at index 0.
+ */
+public final class Dawg {
+
+    private static final int MAGIC = 0x57535144; // "WSQD"
+    private static final int VERSION = 1;
+
+    private static final int LETTER_MASK = 0x1F;
+    private static final int WORD_END = 1 << 5;
+    private static final int LAST_EDGE = 1 << 6;
+    private static final int TARGET_SHIFT = 7;
+
+    private final int[] edges;
+    private final int wordCount;
+
+    private Dawg(int[] edges, int wordCount) {
+        this.edges = edges;
+        this.wordCount = wordCount;
+    }
+
+    // Compiles a word list, one word per line, into the binary form the app loads
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: Dawg <words.txt> <output.dawg>");
+            System.exit(2);
+        }
+        Dawg dawg;
+        try (Reader reader = new InputStreamReader(new FileInputStream(new File(args[0])), StandardCharsets.UTF_8)) {
+            dawg = build(reader);
+        }
+        try (OutputStream output = new FileOutputStream(new File(args[1]))) {
+            dawg.write(output);
+        }
+        System.out.println("Wrote " + dawg.getWordCount() + " words in " + dawg.getEdgeCount() + " edges to " + args[1]);
+    }
+
+    // Words outside A-Z after upper casing are skipped, as no grid can hold them
+    public static Dawg build(Collection<String> words) {
+        List<String> sorted = new ArrayList<>();
+        for (String word : words) {
+            String upper = word.toUpperCase(Locale.ROOT);
+            if (isLetters(upper)) {
+                sorted.add(upper);
+            }
+        }
+        sorted.sort(null);
+
+        Builder builder = new Builder();
+        String previous = "";
+        int count = 0;
+        for (String word : sorted) {
+            if (!word.equals(previous)) {
+                builder.insert(word, previous);
+                previous = word;
+                count++;
+            }
+        }
+        return new Dawg(builder.finish(), count);
+    }
+
+    // One word per line; blank lines and lines starting with '#' are ignored
+    public static Dawg build(Reader reader) throws IOException {
+        List<String> words = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                words.add(line);
+            }
+        }
+        return build(words);
+    }
+
+    public static Dawg read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a supported dictionary");
+        }
+        int wordCount = in.readInt();
+        int edgeCount = in.readInt();
+        byte[] bytes = new byte[edgeCount * 4];
+        in.readFully(bytes);
+        int[] edges = new int[edgeCount];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(edges);
+        return new Dawg(edges, wordCount);
+    }
+
+    public void write(OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(wordCount);
+        out.writeInt(edges.length);
+        ByteBuffer bytes = ByteBuffer.allocate(edges.length * 4);
+        bytes.asIntBuffer().put(edges);
+        out.write(bytes.array());
+        out.flush();
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    public boolean contains(String word) {
+        if (isEmpty()) return false;
+        int node = 0;
+        int edge = -1;
+        for (int i = 0; i < word.length(); i++) {
+            if (i > 0) {
+                node = child(edge);
+                if (node == 0) return false;
+            }
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+            edge = find(node, c);
+            if (edge < 0) return false;
+        }
+        return edge >= 0 && isWordEnd(edge);
+    }
+
+    boolean isEmpty() {
+        return edges.length == 0;
+    }
+
+    // Index of the node's edge for this letter, or -1
+    int find(int node, char letter) {
+        int wanted = letter - 'A';
+        for (int i = node; ; i++) {
+            int edge = edges[i];
+            int edgeLetter = edge & LETTER_MASK;
+            if (edgeLetter == wanted) return i;
+            // Edges are sorted, so a later letter means the one wanted is missing
+            if (edgeLetter > wanted || (edge & LAST_EDGE) != 0) return -1;
+        }
+    }
+
+    boolean isWordEnd(int edgeIndex) {
+        return (edges[edgeIndex] & WORD_END) != 0;
+    }
+
+    // First edge of the node this edge leads to, 0 if the edge ends every word through it
+    int child(int edgeIndex) {
+        return edges[edgeIndex] >>> TARGET_SHIFT;
+    }
+
+    private static boolean isLetters(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Incremental construction from sorted words (Daciuk et al.): once a word is added, the part
+    // of the previous word it does not share can never change again, so it is merged into an
+    // equivalent registered node straight away and the trie never grows beyond one word's path.
+    private static final class Builder {
+
+        private final Node root = new Node();
+        private final Map<Node, Node> register = new HashMap<>();
+        // Path of the last word: nodes[i] hangs off nodes[i - 1] by the last word's i-th letter
+        private final List<Node> path = new ArrayList<>();
+
+        Builder() {
+            path.add(root);
+        }
+
+        void insert(String word, String previous) {
+            int common = 0;
+            while (common < word.length() && common < previous.length()
+                    && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(common);
+
+            Node node = path.get(common);
+            for (int i = common; i < word.length(); i++) {
+                Node next = new Node();
+                node.add(word.charAt(i) - 'A', next);
+                path.add(next);
+                node = next;
+            }
+            node.terminal = true;
+        }
+
+        int[] finish() {
+            minimize(0);
+            return flatten();
+        }
+
+        // Replaces the path below depth with registered equivalents, deepest first
+        private void minimize(int depth) {
+            for (int i = path.size() - 1; i > depth; i--) {
+                Node parent = path.get(i - 1);
+                Node child = path.get(i);
+                Node existing = register.get(child);
+                if (existing != null) {
+                    parent.children[parent.edgeCount - 1] = existing;
+                } else {
+                    child.freeze();
+                    register.put(child, child);
+                }
+                path.remove(i);
+            }
+        }
+
+        private int[] flatten() {
+            if (root.edgeCount == 0) {
+                return new int[0];
+            }
+            // Lay nodes out breadth first from the root, which takes index 0
+            Map<Node, Integer> offsets = new IdentityHashMap<>();
+            List<Node> order = new ArrayList<>();
+            offsets.put(root, 0);
+            order.add(root);
+            int size = root.edgeCount;
+            for (int n = 0; n < order.size(); n++) {
+                Node node = order.get(n);
+                for (int e = 0; e < node.edgeCount; e++) {
+                    Node child = node.children[e];
+                    if (child.edgeCount > 0 && !offsets.containsKey(child)) {
+                        offsets.put(child, size);
+                        order.add(child);
+                        size += child.edgeCount;
+                    }
+                }
+            }
+            if ((long) size << TARGET_SHIFT > 0xFFFFFFFFL) {
+                throw new IllegalStateException("Dictionary too large: " + size + " edges");
+            }
+
+            int[] edges = new int[size];
+            for (Node node : order) {
+                int offset = offsets.get(node);
+                for (int e = 0; e < node.edgeCount; e++) {
+                    Node child = node.children[e];
+                    int edge = node.letters[e];
+                    if (child.terminal) edge |= WORD_END;
+                    if (e == node.edgeCount - 1) edge |= LAST_EDGE;
+                    if (child.edgeCount > 0) edge |= offsets.get(child) << TARGET_SHIFT;
+                    edges[offset + e] = edge;
+                }
+            }
+            return edges;
+        }
+    }
+
+    // Registered nodes are compared by their final state and their edges; children are already
+    // registered by then, so comparing them by identity is enough
+    private static final class Node {
+        boolean terminal;
+        int[] letters = new int[2];
+        Node[] children = new Node[2];
+        int edgeCount;
+        private int hash;
+
+        void add(int letter, Node child) {
+            if (edgeCount == letters.length) {
+                letters = Arrays.copyOf(letters, edgeCount * 2);
+                children = Arrays.copyOf(children, edgeCount * 2);
+            }
+            letters[edgeCount] = letter;
+            children[edgeCount] = child;
+            edgeCount++;
+        }
+
+        void freeze() {
+            int h = terminal ? 1 : 0;
+            for (int e = 0; e < edgeCount; e++) {
+                h = h * 31 + letters[e];
+                h = h * 31 + System.identityHashCode(children[e]);
+            }
+            hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            if (hash == 0) {
+                freeze();
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Node)) return false;
+            Node node = (Node) other;
+            if (terminal != node.terminal || edgeCount != node.edgeCount) return false;
+            for (int e = 0; e < edgeCount; e++) {
+                if (letters[e] != node.letters[e] || children[e] != node.children[e]) return false;
+            }
+            return true;
+        }
+    }
+}
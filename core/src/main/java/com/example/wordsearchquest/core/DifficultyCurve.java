@@ -0,0 +1,71 @@
+package com.example.wordsearchquest.core;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Level parameters as a function of the level number, for levels that are built rather than
+ * read from a level file. Grids grow by a row every few levels, word counts grow with the grid,
+ * the clock allows less time per word, and rarer words, backwards words and misleading filler
+ * come in step by step. Everything flattens out at a ceiling, so any level number is playable.
+ *
+ * <p>Subclasses can reshape single parameters by overriding them.
+ */
+public class DifficultyCurve {
+
+    public static final DifficultyCurve DEFAULT = new DifficultyCurve();
+
+    static final int MIN_GRID_SIZE = 8;
+    static final int MAX_GRID_SIZE = 16;
+    static final int LEVELS_PER_GRID_SIZE = 5;
+    static final int MIN_WORD_LENGTH = 3;
+
+    public int gridSize(int level) {
+        return Math.min(MAX_GRID_SIZE, MIN_GRID_SIZE + (level - 1) / LEVELS_PER_GRID_SIZE);
+    }
+
+    public int wordCount(int level) {
+        return Math.min(gridSize(level) + 4, 6 + (level - 1) / 3);
+    }
+
+    // From 30 seconds per word down to 12, with at least a minute on the clock
+    public int timeLimit(int level) {
+        int secondsPerWord = Math.max(12, 30 - (level - 1) / 4);
+        return Math.max(60, wordCount(level) * secondsPerWord);
+    }
+
+    public int minWordLength(int level) {
+        return MIN_WORD_LENGTH;
+    }
+
+    public int maxWordLength(int level) {
+        return Math.min(gridSize(level), 5 + level / 4);
+    }
+
+    // Words are drawn from the most frequent maxRank words of a category, widening as levels go on
+    public int maxRank(int level) {
+        return level >= 100 ? Integer.MAX_VALUE : 1000 * level;
+    }
+
+    public Set<WordGridGenerator.Direction> directions(int level) {
+        return level > 30 ? WordGridGenerator.ALL_DIRECTIONS : WordGridGenerator.FORWARD_DIRECTIONS;
+    }
+
+    public LetterDistribution filler(int level, List<String> words) {
+        if (level > 40) return LetterDistribution.fromWords(words);
+        if (level > 15) return LetterDistribution.ENGLISH;
+        return LetterDistribution.UNIFORM;
+    }
+
+    public String difficulty(int level) {
+        if (level <= 10) return "Easy";
+        if (level <= 25) return "Medium";
+        if (level <= 40) return "Hard";
+        return "Expert";
+    }
+
+    public LevelDefinition define(int level, List<String> words) {
+        return new LevelDefinition(level, difficulty(level), gridSize(level), timeLimit(level), words,
+            directions(level), filler(level, words));
+    }
+}
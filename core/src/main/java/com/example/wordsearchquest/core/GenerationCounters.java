@@ -0,0 +1,64 @@
+package com.example.wordsearchquest.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals of {@link GenerationStats} across many grids, for example process-wide through
+ * {@link WordGridGenerator#setStatsListener}. Safe to share between generating threads.
+ */
+public class GenerationCounters implements GenerationStats.Listener {
+
+    private final LongAdder grids = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder rejectedProbes = new LongAdder();
+    private final LongAdder droppedWords = new LongAdder();
+    private final LongAdder placeNanos = new LongAdder();
+    private final LongAdder fillNanos = new LongAdder();
+
+    @Override
+    public void onGenerated(GenerationStats stats) {
+        grids.increment();
+        attempts.add(stats.attempts);
+        probes.add(stats.probes);
+        rejectedProbes.add(stats.rejectedProbes);
+        droppedWords.add(stats.droppedWords.size());
+        placeNanos.add(stats.placeNanos);
+        fillNanos.add(stats.fillNanos);
+    }
+
+    public long getGrids() {
+        return grids.sum();
+    }
+
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    public long getRejectedProbes() {
+        return rejectedProbes.sum();
+    }
+
+    public long getDroppedWords() {
+        return droppedWords.sum();
+    }
+
+    public long getPlaceNanos() {
+        return placeNanos.sum();
+    }
+
+    public long getFillNanos() {
+        return fillNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d grids: %d attempts, %d probes (%d rejected), %d words dropped, "
+                + "place %d ms, fill %d ms", getGrids(), getAttempts(), getProbes(), getRejectedProbes(),
+            getDroppedWords(), getPlaceNanos() / 1_000_000, getFillNanos() / 1_000_000);
+    }
+}
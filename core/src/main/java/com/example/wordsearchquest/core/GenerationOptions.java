@@ -0,0 +1,90 @@
+package com.example.wordsearchquest.core;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional knobs for {@link WordGridGenerator}. The defaults match a plain
+ * {@code generateGrid(words, gridSize)} call: the four forward directions, a random seed, uniform
+ * filler letters, no blocklist and no time limit.
+ */
+public class GenerationOptions {
+
+    Set<WordGridGenerator.Direction> directions = WordGridGenerator.FORWARD_DIRECTIONS;
+    WordAutomaton blocklist = WordAutomaton.EMPTY;
+    LetterDistribution filler = LetterDistribution.UNIFORM;
+    long memoryBudget = MarathonGenerator.DEFAULT_MEMORY_BUDGET;
+    GenerationStats.Listener statsListener;
+    long timeBudgetNanos;
+    AtomicBoolean cancelled;
+    private boolean hasSeed = false;
+    private long seed;
+
+    public GenerationOptions directions(Set<WordGridGenerator.Direction> directions) {
+        if (directions.isEmpty()) {
+            throw new IllegalArgumentException("At least one direction is required");
+        }
+        this.directions = directions;
+        return this;
+    }
+
+    public GenerationOptions seed(long seed) {
+        this.hasSeed = true;
+        this.seed = seed;
+        return this;
+    }
+
+    // Words the filler letters must never spell, in any direction
+    public GenerationOptions blocklist(WordAutomaton blocklist) {
+        this.blocklist = blocklist;
+        return this;
+    }
+
+    // Letter frequencies for the cells no word covers
+    public GenerationOptions filler(LetterDistribution filler) {
+        this.filler = filler;
+        return this;
+    }
+
+    // Cap on working memory for marathon-sized grids; larger requests fail up front
+    public GenerationOptions memoryBudget(long bytes) {
+        this.memoryBudget = bytes;
+        return this;
+    }
+
+    // Stops the word search after this long and keeps the best layout found so far, see
+    // GridResult.complete. A grid cut short depends on timing, so its seed no longer reproduces it.
+    // Marathon-sized grids are placed in a single pass and ignore the budget.
+    public GenerationOptions timeBudget(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive: " + millis);
+        }
+        this.timeBudgetNanos = millis * 1_000_000L;
+        return this;
+    }
+
+    // Unchecked, so tests can pass a budget that has already run out
+    GenerationOptions timeBudgetNanos(long nanos) {
+        this.timeBudgetNanos = nanos;
+        return this;
+    }
+
+    // Setting the flag from another thread stops the word search at its next step, for a grid
+    // nobody waits for any more. The grid still comes back, but incomplete. Marathon-sized grids
+    // don't check it.
+    public GenerationOptions cancelFlag(AtomicBoolean cancelled) {
+        this.cancelled = cancelled;
+        return this;
+    }
+
+    // Receives the stats of every grid generated with these options
+    public GenerationOptions statsListener(GenerationStats.Listener listener) {
+        this.statsListener = listener;
+        return this;
+    }
+
+    SplittableRandom newRandom() {
+        return hasSeed ? new SplittableRandom(seed) : new SplittableRandom();
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What one {@link WordGridGenerator} call did to build its grid: how many searches ran, how many
+ * placement probes each word took in each direction and how many of them were rejected, which
+ * words were left out, and the wall time spent placing words and filling the rest.
+ *
+ * <p>Stats are only collected when a listener is set, either per call with
+ * {@link GenerationOptions#statsListener} or for the whole process with
+ * {@link WordGridGenerator#setStatsListener}; otherwise generation does no extra work.
+ */
+public final class GenerationStats {
+
+    // Called on the generating thread once the grid is finished
+    public interface Listener {
+        void onGenerated(GenerationStats stats);
+    }
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    public final int gridSize;
+    // Words that fit the grid, in the order the probe counts are indexed by
+    public final List<String> words;
+    // Word searches that ran to completion; parallel generation runs several
+    public final int attempts;
+    public final long probes;
+    public final long rejectedProbes;
+    // Requested words missing from the grid, including those longer than it
+    public final List<String> droppedWords;
+    public final long placeNanos;
+    public final long fillNanos;
+    // [word * directions + direction]
+    private final long[] probeCounts;
+    private final long[] rejectedCounts;
+
+    GenerationStats(int gridSize, List<String> words, int attempts, long[] probeCounts, long[] rejectedCounts,
+                    List<String> droppedWords, long placeNanos, long fillNanos) {
+        this.gridSize = gridSize;
+        this.words = Collections.unmodifiableList(words);
+        this.attempts = attempts;
+        this.probeCounts = probeCounts;
+        this.rejectedCounts = rejectedCounts;
+        this.probes = sum(probeCounts);
+        this.rejectedProbes = sum(rejectedCounts);
+        this.droppedWords = Collections.unmodifiableList(droppedWords);
+        this.placeNanos = placeNanos;
+        this.fillNanos = fillNanos;
+    }
+
+    public long getProbes(int word, WordGridGenerator.Direction direction) {
+        return probeCounts[word * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    public long getRejectedProbes(int word, WordGridGenerator.Direction direction) {
+        return rejectedCounts[word * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    public long getProbes(int word) {
+        long total = 0;
+        for (WordGridGenerator.Direction direction : DIRECTIONS) {
+            total += getProbes(word, direction);
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%dx%d grid, %d words: %d attempts, %d probes (%d rejected), %d dropped, "
+                + "place %d us, fill %d us", gridSize, gridSize, words.size(), attempts, probes, rejectedProbes,
+            droppedWords.size(), placeNanos / 1000, fillNanos / 1000);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    // Collects the counters for one call. Each search counts into its own arrays, which are added
+    // in here once it is done, so parallel searches never share a counter.
+    static final class Recorder {
+
+        private final List<String> words;
+        private final long[] probeCounts;
+        private final long[] rejectedCounts;
+        private int attempts;
+        private long placeStart;
+        private long placeNanos;
+        private long fillStart;
+        private long fillNanos;
+
+        Recorder(List<String> words) {
+            this.words = words;
+            this.probeCounts = newCounters(words.size());
+            this.rejectedCounts = newCounters(words.size());
+        }
+
+        // Null unless someone is listening, so callers can skip all counting with one check
+        static Recorder forCall(GenerationOptions options, List<String> words) {
+            return options.statsListener != null || WordGridGenerator.getStatsListener() != null
+                ? new Recorder(words)
+                : null;
+        }
+
+        static long[] newCounters(int wordCount) {
+            return new long[wordCount * DIRECTIONS.length];
+        }
+
+        void addAttempt(long[] probes, long[] rejected) {
+            attempts++;
+            for (int i = 0; i < probeCounts.length; i++) {
+                probeCounts[i] += probes[i];
+                rejectedCounts[i] += rejected[i];
+            }
+        }
+
+        void startPlacing() {
+            placeStart = System.nanoTime();
+        }
+
+        void startFilling() {
+            fillStart = System.nanoTime();
+            placeNanos = fillStart - placeStart;
+        }
+
+        void finishFilling() {
+            fillNanos = System.nanoTime() - fillStart;
+        }
+
+        void report(GenerationOptions options, int gridSize, List<String> requested,
+                    List<WordGridGenerator.WordPlacement> placements) {
+            GenerationStats stats = new GenerationStats(gridSize, new ArrayList<>(words), attempts,
+                probeCounts, rejectedCounts, droppedWords(requested, placements), placeNanos, fillNanos);
+            if (options.statsListener != null) {
+                options.statsListener.onGenerated(stats);
+            }
+            Listener global = WordGridGenerator.getStatsListener();
+            if (global != null) {
+                global.onGenerated(stats);
+            }
+        }
+
+        private static List<String> droppedWords(List<String> requested,
+                                                 List<WordGridGenerator.WordPlacement> placements) {
+            // Counted, since a level may list the same word twice
+            Map<String, Integer> placed = new HashMap<>();
+            for (WordGridGenerator.WordPlacement placement : placements) {
+                placed.merge(placement.word, 1, Integer::sum);
+            }
+            List<String> dropped = new ArrayList<>();
+            for (String word : requested) {
+                Integer count = placed.get(word);
+                if (count == null || count == 0) {
+                    dropped.add(word);
+                } else {
+                    placed.put(word, count - 1);
+                }
+            }
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.wordsearchquest.core;
+
+import java.util.Arrays;
+
+/**
+ * Square letter grid stored as one flat {@code char[]} (index = row * size + col). Each direction
+ * is reduced to a single precomputed index step, so probing and writing a word is a plain strided
+ * loop that allocates nothing.
+ */
+final class GridBoard implements GridScanner.Cells {
+
+    static final char EMPTY = ' ';
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    final int size;
+    final char[] cells;
+    // How many placed words cover each cell, so erasing a word keeps letters shared with others
+    private final int[] cellUse;
+    private final int[] steps = new int[DIRECTIONS.length];
+
+    GridBoard(int size) {
+        this.size = size;
+        this.cells = new char[size * size];
+        this.cellUse = new int[size * size];
+        Arrays.fill(cells, EMPTY);
+
+        for (WordGridGenerator.Direction direction : DIRECTIONS) {
+            steps[direction.ordinal()] = direction.dRow * size + direction.dCol;
+        }
+    }
+
+    // Callers only pass starts that keep the word inside the grid, so the loop needs no bounds checks
+    boolean fits(String word, int start, int direction) {
+        int step = steps[direction];
+        int index = start;
+        for (int i = 0; i < word.length(); i++) {
+            char current = cells[index];
+            if (current != EMPTY && current != word.charAt(i)) {
+                return false;
+            }
+            index += step;
+        }
+        return true;
+    }
+
+    void write(String word, int start, int direction) {
+        int step = steps[direction];
+        int index = start;
+        for (int i = 0; i < word.length(); i++) {
+            cells[index] = word.charAt(i);
+            cellUse[index]++;
+            index += step;
+        }
+    }
+
+    void erase(String word, int start, int direction) {
+        int step = steps[direction];
+        int index = start;
+        for (int i = 0; i < word.length(); i++) {
+            if (--cellUse[index] == 0) {
+                cells[index] = EMPTY;
+            }
+            index += step;
+        }
+    }
+
+    @Override
+    public char letterAt(int index) {
+        return cells[index];
+    }
+
+    @Override
+    public void setLetter(int index, char letter) {
+        cells[index] = letter;
+    }
+
+    // True for cells covered by at least one placed word, false for filler
+    @Override
+    public boolean isPlaced(int index) {
+        return cellUse[index] > 0;
+    }
+
+    char[][] toRows() {
+        char[][] rows = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(cells, row * size, rows[row], 0, size);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.wordsearchquest.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * Finds filler letters that accidentally spell something: a second copy of a target word, which
+ * makes a selection disagree with the highlighted placement, or a blocklisted word. Rows, columns
+ * and both diagonals are each walked once, feeding both automatons at the same time; since the
+ * automatons also hold every word reversed, that single pass covers all eight directions.
+ *
+ * <p>Matches made only of placed letters are left alone, because no amount of re-rolling filler
+ * can change them. This is also why the intended placement of each target word never counts.
+ */
+final class GridScanner {
+
+    // Scan and re-roll passes before a grid is accepted with whatever accidental words remain
+    static final int MAX_REROLL_ROUNDS = 32;
+
+    // A square grid as the scanner sees it, since regular and marathon grids store letters differently
+    interface Cells {
+        char letterAt(int index);
+
+        void setLetter(int index, char letter);
+
+        // True for cells covered by a placed word, false for filler
+        boolean isPlaced(int index);
+    }
+
+    private final WordAutomaton targets;
+    private final WordAutomaton blocklist;
+
+    GridScanner(WordAutomaton targets, WordAutomaton blocklist) {
+        this.targets = targets;
+        this.blocklist = blocklist;
+    }
+
+    // Re-rolls only the filler cells that spell a second copy of a word or a blocked word
+    void removeAccidentalWords(Cells cells, int size, LetterDistribution filler, SplittableRandom random) {
+        boolean[] marked = new boolean[size * size];
+        for (int round = 0; round < MAX_REROLL_ROUNDS && markOffending(cells, size, marked) > 0; round++) {
+            for (int i = 0; i < marked.length; i++) {
+                if (marked[i]) {
+                    cells.setLetter(i, filler.sample(random));
+                    marked[i] = false;
+                }
+            }
+        }
+    }
+
+    int markOffending(GridBoard board, boolean[] marked) {
+        return markOffending(board, board.size, marked);
+    }
+
+    // Marks the filler cells of every offending match and returns how many were newly marked
+    int markOffending(Cells board, int size, boolean[] marked) {
+        int marks = 0;
+        for (int i = 0; i < size; i++) {
+            // Rows and columns
+            marks += scanLine(board, i * size, 1, size, marked);
+            marks += scanLine(board, i, size, size, marked);
+            // Down-right diagonals starting on the top row and on the left column
+            marks += scanLine(board, i, size + 1, size - i, marked);
+            // Up-right diagonals starting on the left column and on the bottom row
+            marks += scanLine(board, i * size, 1 - size, i + 1, marked);
+            if (i > 0) {
+                marks += scanLine(board, i * size, size + 1, size - i, marked);
+                marks += scanLine(board, (size - 1) * size + i, 1 - size, size - i, marked);
+            }
+        }
+        return marks;
+    }
+
+    private int scanLine(Cells board, int start, int step, int length, boolean[] marked) {
+        if (length < Math.min(targets.shortestWord(), blocklist.shortestWord())) {
+            return 0;
+        }
+
+        int targetState = 0;
+        int blockedState = 0;
+        int marks = 0;
+        int index = start;
+        for (int i = 0; i < length; i++) {
+            char letter = board.letterAt(index);
+            targetState = targets.step(targetState, letter);
+            blockedState = blocklist.step(blockedState, letter);
+            marks += markMatches(targets, targetState, board, index, step, marked);
+            marks += markMatches(blocklist, blockedState, board, index, step, marked);
+            index += step;
+        }
+        return marks;
+    }
+
+    // Walks every word ending at this cell, longest first
+    private static int markMatches(WordAutomaton automaton, int state, Cells board, int end, int step,
+                                   boolean[] marked) {
+        int marks = 0;
+        int match = automaton.matchLength(state) > 0 ? state : automaton.matchLink(state);
+        while (match >= 0) {
+            int index = end;
+            for (int i = automaton.matchLength(match); i > 0; i--) {
+                if (!board.isPlaced(index) && !marked[index]) {
+                    marked[index] = true;
+                    marks++;
+                }
+                index -= step;
+            }
+            match = automaton.matchLink(match);
+        }
+        return marks;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds every occurrence of a set of words in an existing grid, in all eight directions, for
+ * grids that come without placements such as handcrafted or pasted ones. The words go into one
+ * {@link WordAutomaton}, which also holds them reversed, so each row, column and diagonal is read
+ * once, forward only, whatever the number of words. Grids may be rectangular; letters are matched
+ * case-insensitively and anything outside A-Z breaks a word.
+ *
+ * <p>A palindrome is reported once per occurrence, in its forward direction along the line. A
+ * solver can be reused for any number of grids with the same words.
+ */
+public final class GridSolver {
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+    // The first four directions are the line axes; the reverse of direction d is d + AXES
+    private static final int AXES = 4;
+
+    // Distinct upper case words, indexed like the automaton's word positions
+    private final List<String> words;
+    private final WordAutomaton automaton;
+    // [word] -> other words that read as this one reversed, since they share automaton states
+    private final int[][] reversals;
+
+    public GridSolver(Collection<String> words) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String word : words) {
+            distinct.add(word.toUpperCase(Locale.ROOT));
+        }
+        this.words = new ArrayList<>(distinct);
+        this.automaton = new WordAutomaton(this.words);
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int w = 0; w < this.words.size(); w++) {
+            positions.put(this.words.get(w), w);
+        }
+        this.reversals = new int[this.words.size()][];
+        for (int w = 0; w < this.words.size(); w++) {
+            String word = this.words.get(w);
+            Integer twin = positions.get(new StringBuilder(word).reverse().toString());
+            reversals[w] = twin != null && twin != w ? new int[]{twin} : new int[0];
+        }
+    }
+
+    public static List<WordGridGenerator.WordPlacement> solve(char[][] grid, Collection<String> words) {
+        return new GridSolver(words).solve(grid);
+    }
+
+    // Every placement of every word, in scan order; a word found several times is listed each time
+    public List<WordGridGenerator.WordPlacement> solve(char[][] grid) {
+        List<WordGridGenerator.WordPlacement> placements = new ArrayList<>();
+        int rows = grid.length;
+        int cols = 0;
+        for (char[] row : grid) {
+            cols = Math.max(cols, row.length);
+        }
+        if (automaton.isEmpty() || rows == 0 || cols == 0) {
+            return placements;
+        }
+
+        for (int row = 0; row < rows; row++) {
+            scanLine(grid, row, 0, 0, cols, placements);
+        }
+        for (int col = 0; col < cols; col++) {
+            scanLine(grid, 0, col, 1, cols, placements);
+        }
+        // Down-right diagonals start on the top row or the left column, up-right ones on the
+        // left column or the bottom row
+        for (int col = 0; col < cols; col++) {
+            scanLine(grid, 0, col, 2, cols, placements);
+        }
+        for (int row = 1; row < rows; row++) {
+            scanLine(grid, row, 0, 2, cols, placements);
+        }
+        for (int row = 0; row < rows; row++) {
+            scanLine(grid, row, 0, 3, cols, placements);
+        }
+        for (int col = 1; col < cols; col++) {
+            scanLine(grid, rows - 1, col, 3, cols, placements);
+        }
+        return placements;
+    }
+
+    private void scanLine(char[][] grid, int row, int col, int axis, int cols,
+                          List<WordGridGenerator.WordPlacement> placements) {
+        WordGridGenerator.Direction direction = DIRECTIONS[axis];
+        int state = 0;
+        for (; row >= 0 && row < grid.length && col < cols; row += direction.dRow, col += direction.dCol) {
+            char c = col < grid[row].length ? Character.toUpperCase(grid[row][col]) : ' ';
+            if (c < 'A' || c > 'Z') {
+                state = 0;
+                continue;
+            }
+            state = automaton.step(state, c);
+
+            // Every word ending at this cell, longest first
+            int match = automaton.matchLength(state) > 0 ? state : automaton.matchLink(state);
+            while (match >= 0) {
+                report(match, row, col, axis, placements);
+                match = automaton.matchLink(match);
+            }
+        }
+    }
+
+    private void report(int state, int lastRow, int lastCol, int axis,
+                        List<WordGridGenerator.WordPlacement> placements) {
+        int length = automaton.matchLength(state);
+        if (length == 1 && axis != 0) {
+            // A single letter reads the same along every axis, so count it once
+            return;
+        }
+        WordGridGenerator.Direction direction = DIRECTIONS[axis];
+        int firstRow = lastRow - (length - 1) * direction.dRow;
+        int firstCol = lastCol - (length - 1) * direction.dCol;
+
+        int id = automaton.matchWord(state);
+        int word = id >>> 1;
+        boolean reversed = (id & 1) != 0;
+        placements.add(placement(word, reversed, firstRow, firstCol, lastRow, lastCol, axis));
+        for (int twin : reversals[word]) {
+            placements.add(placement(twin, !reversed, firstRow, firstCol, lastRow, lastCol, axis));
+        }
+    }
+
+    private WordGridGenerator.WordPlacement placement(int word, boolean reversed, int firstRow, int firstCol,
+                                                      int lastRow, int lastCol, int axis) {
+        if (reversed) {
+            return new WordGridGenerator.WordPlacement(words.get(word), lastRow, lastCol, firstRow, firstCol,
+                DIRECTIONS[axis + AXES]);
+        }
+        return new WordGridGenerator.WordPlacement(words.get(word), firstRow, firstCol, lastRow, lastCol,
+            DIRECTIONS[axis]);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.wordsearchquest.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Letter frequencies for filler cells. Sampling uses a precomputed alias table (Vose's method):
+ * one uniform column pick and one biased coin per letter, whatever the shape of the distribution,
+ * and nothing is allocated per cell. Immutable, so one instance can be shared between threads.
+ *
+ * <p>Levels choose a distribution with the {@code "filler"} key: {@code "uniform"} (the default),
+ * {@code "english"} for typical English text, or {@code "words"} to mimic the level's own words.
+ */
+public class LetterDistribution {
+
+    static final int LETTERS = 26;
+
+    // Relative frequency of A-Z in English text, in hundredths of a percent
+    private static final int[] ENGLISH_WEIGHTS = {
+        817, 149, 278, 425, 1270, 223, 202, 609, 697, 15, 77, 403, 241,
+        675, 751, 193, 10, 599, 633, 906, 276, 98, 236, 15, 197, 7
+    };
+
+    public static final LetterDistribution UNIFORM = new LetterDistribution(uniformWeights());
+    public static final LetterDistribution ENGLISH = new LetterDistribution(toDoubles(ENGLISH_WEIGHTS));
+
+    // Chance of keeping the picked column's own letter rather than its alias
+    private final double[] keep = new double[LETTERS];
+    private final char[] alias = new char[LETTERS];
+
+    public LetterDistribution(double[] weights) {
+        if (weights.length != LETTERS) {
+            throw new IllegalArgumentException("Expected " + LETTERS + " weights, got " + weights.length);
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid letter weight: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one letter needs a positive weight");
+        }
+
+        // Scale so the average column holds exactly 1, then pair each short column with a tall one
+        double[] scaled = new double[LETTERS];
+        int[] small = new int[LETTERS];
+        int[] large = new int[LETTERS];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < LETTERS; i++) {
+            scaled[i] = weights[i] * LETTERS / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            keep[less] = scaled[less];
+            alias[less] = (char) ('A' + more);
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int column = large[--largeCount];
+            keep[column] = 1.0;
+            alias[column] = (char) ('A' + column);
+        }
+        while (smallCount > 0) {
+            int column = small[--smallCount];
+            keep[column] = 1.0;
+            alias[column] = (char) ('A' + column);
+        }
+    }
+
+    // Rebuilt from a table read back by LevelPackReader, skipping the construction above
+    private LetterDistribution(double[] keep, char[] alias) {
+        System.arraycopy(keep, 0, this.keep, 0, LETTERS);
+        System.arraycopy(alias, 0, this.alias, 0, LETTERS);
+    }
+
+    static LetterDistribution fromTable(double[] keep, char[] alias) {
+        if (keep.length != LETTERS || alias.length != LETTERS) {
+            throw new IllegalArgumentException("Expected " + LETTERS + " table columns");
+        }
+        for (int i = 0; i < LETTERS; i++) {
+            if (!(keep[i] >= 0 && keep[i] <= 1) || alias[i] < 'A' || alias[i] > 'Z') {
+                throw new IllegalArgumentException("Invalid table column " + i);
+            }
+        }
+        return new LetterDistribution(keep, alias);
+    }
+
+    // Letter counts of the words themselves, so filler blends in with what the player looks for.
+    // Letters the words never use keep a small share, so the filler does not spell out the answer.
+    public static LetterDistribution fromWords(List<String> words) {
+        double[] weights = new double[LETTERS];
+        int letters = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                char c = Character.toUpperCase(word.charAt(i));
+                if (c >= 'A' && c <= 'Z') {
+                    weights[c - 'A']++;
+                    letters++;
+                }
+            }
+        }
+        if (letters == 0) {
+            return ENGLISH;
+        }
+        for (int i = 0; i < LETTERS; i++) {
+            weights[i] += letters / 100.0;
+        }
+        return new LetterDistribution(weights);
+    }
+
+    // Resolves a level file "filler" value; "words" is built from the level's own word list
+    public static LetterDistribution forLevel(String name, List<String> words) {
+        switch (name.toLowerCase(Locale.ROOT)) {
+            case "uniform":
+                return UNIFORM;
+            case "english":
+                return ENGLISH;
+            case "words":
+                return fromWords(words);
+            default:
+                throw new IllegalArgumentException("Unknown filler distribution: " + name);
+        }
+    }
+
+    double keep(int column) {
+        return keep[column];
+    }
+
+    char alias(int column) {
+        return alias[column];
+    }
+
+    public char sample(SplittableRandom random) {
+        int column = random.nextInt(LETTERS);
+        // Full columns skip the coin, which also keeps uniform filler to exactly one draw per cell
+        if (keep[column] >= 1.0 || random.nextDouble() < keep[column]) {
+            return (char) ('A' + column);
+        }
+        return alias[column];
+    }
+
+    private static double[] uniformWeights() {
+        double[] weights = new double[LETTERS];
+        Arrays.fill(weights, 1.0);
+        return weights;
+    }
+
+    private static double[] toDoubles(int[] values) {
+        double[] doubles = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            doubles[i] = values[i];
+        }
+        return doubles;
+    }
+}
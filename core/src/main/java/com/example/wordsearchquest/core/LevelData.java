@@ -1,7 +1,11 @@
-package com.example.wordsearchquest;
+package com.example.wordsearchquest.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class LevelData {
     public int levelNumber;
@@ -36,6 +40,23 @@ public class LevelData {
         return new LevelData(2, "Foods", grid, words);
     }
     
+    // The grid is handcrafted, so the placements the view needs are found by solving it. A word
+    // that appears more than once keeps its first occurrence.
+    public WordGridGenerator.GridResult toGridResult() {
+        List<WordGridGenerator.WordPlacement> placements = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        for (WordGridGenerator.WordPlacement placement : GridSolver.solve(grid, words)) {
+            if (placed.add(placement.word)) {
+                placements.add(placement);
+            }
+        }
+        Set<String> wanted = new HashSet<>();
+        for (String word : words) {
+            wanted.add(word.toUpperCase(Locale.ROOT));
+        }
+        return new WordGridGenerator.GridResult(grid, placements, placed.containsAll(wanted));
+    }
+    
     // Get grid dimensions
     public int getRows() {
         return grid.length;
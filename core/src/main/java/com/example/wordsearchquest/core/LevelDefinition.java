@@ -0,0 +1,34 @@
+package com.example.wordsearchquest.core;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One entry of a {@code words_*.json} level file, without any Android dependencies so batch
+ * tools can read level files on a plain JVM.
+ */
+public class LevelDefinition {
+    public final int level;
+    public final String difficulty;
+    public final int gridSize;
+    public final int timeLimit;
+    public final List<String> words;
+    public final Set<WordGridGenerator.Direction> directions;
+    public final LetterDistribution filler;
+
+    public LevelDefinition(int level, String difficulty, int gridSize, int timeLimit, List<String> words,
+                           Set<WordGridGenerator.Direction> directions, LetterDistribution filler) {
+        this.level = level;
+        this.difficulty = difficulty;
+        this.gridSize = gridSize;
+        this.timeLimit = timeLimit;
+        this.words = words;
+        this.directions = directions;
+        this.filler = filler;
+    }
+
+    // A fresh options object with this level's directions and filler, ready for a seed or blocklist
+    public GenerationOptions generationOptions() {
+        return new GenerationOptions().directions(directions).filler(filler);
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.wordsearchquest.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the level file schema ({@code {"levels": [{"level", "difficulty", "gridSize", "timeLimit",
+ * "words", "directions", "filler"}]}}) straight from a character stream. Unknown keys are skipped, so the
+ * files can grow new fields without breaking older readers.
+ *
+ * <p>Levels are pulled one at a time with {@link #next}, reading only as far into the stream as
+ * the level returned, so a caller can stop at any point. {@link #find} skips over other levels
+ * without building them, which keeps memory to a single level however large the file.
+ */
+public class LevelJsonReader {
+
+    private static final int BEFORE_LEVELS = 0;
+    private static final int FIRST_LEVEL = 1;
+    private static final int NEXT_LEVEL = 2;
+    private static final int AFTER_LEVELS = 3;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long offset;
+    private int state = BEFORE_LEVELS;
+    // The number of the level entry being read, once known, so errors can name it
+    private int currentLevel = -1;
+
+    public LevelJsonReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    public List<LevelDefinition> readAll() throws IOException {
+        List<LevelDefinition> levels = new ArrayList<>();
+        LevelDefinition level;
+        while ((level = next()) != null) {
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    // The next level in the file, or null once there are no more
+    public LevelDefinition next() throws IOException {
+        return next(-1);
+    }
+
+    // The next level with this number, or null if the rest of the file has none. Returns as soon
+    // as it is read, leaving the rest of the stream unread.
+    public LevelDefinition find(int level) throws IOException {
+        if (level < 0) {
+            throw new IllegalArgumentException("Level numbers are not negative: " + level);
+        }
+        return next(level);
+    }
+
+    private LevelDefinition next(int wanted) throws IOException {
+        while (true) {
+            if (state == BEFORE_LEVELS) {
+                expect('{');
+                state = openLevels() ? FIRST_LEVEL : AFTER_LEVELS;
+            }
+            if (state == AFTER_LEVELS) {
+                return null;
+            }
+
+            boolean more = state == FIRST_LEVEL ? !consumeIf(']') : consumeIf(',');
+            if (!more) {
+                if (state == NEXT_LEVEL) {
+                    expect(']');
+                }
+                closeDocument();
+                state = AFTER_LEVELS;
+                return null;
+            }
+            state = NEXT_LEVEL;
+            LevelDefinition level = readLevel(wanted);
+            currentLevel = -1;
+            if (level != null) {
+                return level;
+            }
+        }
+    }
+
+    // Skips top-level keys up to the levels array and enters it; false if there is none
+    private boolean openLevels() throws IOException {
+        if (consumeIf('}')) {
+            return false;
+        }
+        do {
+            String key = readString();
+            expect(':');
+            if (key.equals("levels")) {
+                expect('[');
+                return true;
+            }
+            skipValue();
+        } while (consumeIf(','));
+        expect('}');
+        return false;
+    }
+
+    // Skips the top-level keys after the levels array
+    private void closeDocument() throws IOException {
+        while (consumeIf(',')) {
+            skipString();
+            expect(':');
+            skipValue();
+        }
+        expect('}');
+    }
+
+    // With wanted >= 0, any other level is skipped as soon as its number is known and null returned
+    private LevelDefinition readLevel(int wanted) throws IOException {
+        int level = -1;
+        String difficulty = null;
+        int gridSize = -1;
+        int timeLimit = -1;
+        List<String> words = null;
+        Set<WordGridGenerator.Direction> directions = WordGridGenerator.FORWARD_DIRECTIONS;
+        String filler = "uniform";
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                String key = readString();
+                expect(':');
+                switch (key) {
+                    case "level":
+                        level = readInt();
+                        currentLevel = level;
+                        if (wanted >= 0 && level != wanted) {
+                            skipMembers();
+                            return null;
+                        }
+                        break;
+                    case "difficulty":
+                        difficulty = readString();
+                        break;
+                    case "gridSize":
+                        gridSize = readInt();
+                        break;
+                    case "timeLimit":
+                        timeLimit = readInt();
+                        break;
+                    case "words":
+                        words = readStringArray();
+                        break;
+                    case "directions":
+                        directions = readDirections();
+                        break;
+                    case "filler":
+                        filler = readString();
+                        break;
+                    default:
+                        skipValue();
+                        break;
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+
+        if (level < 0 || difficulty == null || gridSize <= 0 || timeLimit <= 0 || words == null) {
+            throw error("Level entry is missing a required field");
+        }
+        try {
+            // Resolved last, since a word-based filler needs the word list
+            LetterDistribution distribution = LetterDistribution.forLevel(filler, words);
+            return new LevelDefinition(level, difficulty, gridSize, timeLimit, words, directions, distribution);
+        } catch (IllegalArgumentException e) {
+            throw error(e.getMessage());
+        }
+    }
+
+    // Either a single shorthand such as "all" or a list of direction names
+    private Set<WordGridGenerator.Direction> readDirections() throws IOException {
+        skipWhitespace();
+        List<String> names = peek() == '"' ? Collections.singletonList(readString()) : readStringArray();
+        try {
+            return WordGridGenerator.parseDirections(names);
+        } catch (IllegalArgumentException e) {
+            throw error("Invalid directions " + names);
+        }
+    }
+
+    private List<String> readStringArray() throws IOException {
+        List<String> values = new ArrayList<>();
+        expect('[');
+        if (!consumeIf(']')) {
+            do {
+                values.add(readString());
+            } while (consumeIf(','));
+            expect(']');
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'n': value.append('\n'); break;
+                    case 't': value.append('\t'); break;
+                    case 'r': value.append('\r'); break;
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("Invalid \\u escape");
+                            }
+                            code = code * 16 + digit;
+                        }
+                        value.append((char) code);
+                        break;
+                    default: value.append((char) c); break;
+                }
+            } else if (c < 0) {
+                throw error("Unterminated string");
+            } else {
+                value.append((char) c);
+            }
+        }
+    }
+
+    private int readInt() throws IOException {
+        skipWhitespace();
+        long value = 0;
+        boolean negative = consumeIf('-');
+        int digits = 0;
+        while (peek() >= '0' && peek() <= '9') {
+            value = value * 10 + (read() - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw error("Number out of range");
+            }
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("Expected a number");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    // Consumes a string without building it
+    private void skipString() throws IOException {
+        expect('"');
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                read();
+            } else if (c < 0) {
+                throw error("Unterminated string");
+            }
+        }
+    }
+
+    // The remaining members of an object whose first members were already read, and its '}'
+    private void skipMembers() throws IOException {
+        while (consumeIf(',')) {
+            skipString();
+            expect(':');
+            skipValue();
+        }
+        expect('}');
+    }
+
+    private void skipValue() throws IOException {
+        skipWhitespace();
+        int c = peek();
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            char close = c == '{' ? '}' : ']';
+            read();
+            if (!consumeIf(close)) {
+                do {
+                    if (close == '}') {
+                        skipString();
+                        expect(':');
+                    }
+                    skipValue();
+                } while (consumeIf(','));
+                expect(close);
+            }
+        } else {
+            // Numbers, booleans and null: consume the bare literal
+            while (c == '-' || c == '+' || c == '.' || Character.isLetterOrDigit(c)) {
+                read();
+                c = peek();
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        skipWhitespace();
+        int c = read();
+        if (c != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        skipWhitespace();
+        if (peek() == expected) {
+            read();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            read();
+        }
+    }
+
+    // Reads ahead in blocks, so a character costs an array access rather than a call into the reader
+    private int peek() throws IOException {
+        if (position == limit) {
+            if (limit < 0) {
+                return -1;
+            }
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = -1;
+                position = -1;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c >= 0) {
+            position++;
+            offset++;
+        }
+        return c;
+    }
+
+    private IOException error(String message) {
+        String where = currentLevel >= 0 ? " in level " + currentLevel : "";
+        return new IOException(message + where + " at offset " + offset);
+    }
+}
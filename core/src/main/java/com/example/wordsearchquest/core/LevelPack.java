@@ -0,0 +1,32 @@
+package com.example.wordsearchquest.core;
+
+/**
+ * Binary layout shared by {@link LevelPackWriter} and {@link LevelPackReader}. All values are
+ * big-endian.
+ *
+ * <pre>
+ * header   int magic "WSQL", int version, int levelCount
+ * index    levelCount x (int level, int absolute record offset) sorted by level,
+ *          then int end of data
+ * record   short gridSize, int timeLimit, byte directions (bit n set for Direction ordinal n),
+ *          byte filler (0 uniform, 1 english, 2 table: 26 x (double keep, byte alias)),
+ *          string difficulty, short wordCount, wordCount x string
+ * string   short byte length, UTF-8 bytes
+ * </pre>
+ *
+ * Filler tables are stored as the sampler's alias table, so the app does no work to rebuild them.
+ */
+public final class LevelPack {
+
+    static final int MAGIC = 0x5753514C; // "WSQL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 12;
+    static final int INDEX_ENTRY_BYTES = 8;
+
+    static final int FILLER_UNIFORM = 0;
+    static final int FILLER_ENGLISH = 1;
+    static final int FILLER_TABLE = 2;
+
+    private LevelPack() {
+    }
+}
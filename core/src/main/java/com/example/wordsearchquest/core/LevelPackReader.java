@@ -0,0 +1,132 @@
+package com.example.wordsearchquest.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Random access over a level pack written by {@link LevelPackWriter}. Only the header and the
+ * offset index are read up front; a level costs a binary search of the index and one read of
+ * its record, with no text to parse.
+ *
+ * <p>The channel can point into a larger file (such as an uncompressed APK asset), so every
+ * position is relative to {@code start}. Reads are positional and safe from several threads.
+ */
+public class LevelPackReader {
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    private final FileChannel channel;
+    private final long start;
+    private final int[] levels;
+    // Record i spans offsets[i] to offsets[i + 1]
+    private final int[] offsets;
+
+    public LevelPackReader(FileChannel channel, long start) throws IOException {
+        this.channel = channel;
+        this.start = start;
+
+        ByteBuffer header = read(0, LevelPack.HEADER_BYTES);
+        if (header.getInt() != LevelPack.MAGIC || header.getInt() != LevelPack.VERSION) {
+            throw new IOException("Not a supported level pack");
+        }
+        int levelCount = header.getInt();
+
+        levels = new int[levelCount];
+        offsets = new int[levelCount + 1];
+        ByteBuffer index = read(LevelPack.HEADER_BYTES, levelCount * LevelPack.INDEX_ENTRY_BYTES + 4);
+        for (int i = 0; i < levelCount; i++) {
+            levels[i] = index.getInt();
+            offsets[i] = index.getInt();
+        }
+        offsets[levelCount] = index.getInt();
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+
+    // Every level number in the pack, in ascending order
+    public int[] getLevels() {
+        return levels.clone();
+    }
+
+    // The level, or null if the pack does not define it
+    public LevelDefinition read(int level) throws IOException {
+        int entry = Arrays.binarySearch(levels, level);
+        if (entry < 0) {
+            return null;
+        }
+        ByteBuffer record = read(offsets[entry], offsets[entry + 1] - offsets[entry]);
+        try {
+            int gridSize = record.getShort();
+            int timeLimit = record.getInt();
+            int directionBits = record.get() & 0xFF;
+            Set<WordGridGenerator.Direction> directions = EnumSet.noneOf(WordGridGenerator.Direction.class);
+            for (WordGridGenerator.Direction direction : DIRECTIONS) {
+                if ((directionBits & (1 << direction.ordinal())) != 0) {
+                    directions.add(direction);
+                }
+            }
+            LetterDistribution filler = readFiller(record);
+
+            String difficulty = readString(record);
+            int wordCount = record.getShort();
+            List<String> words = new ArrayList<>(wordCount);
+            for (int i = 0; i < wordCount; i++) {
+                words.add(readString(record));
+            }
+            return new LevelDefinition(level, difficulty, gridSize, timeLimit, Collections.unmodifiableList(words),
+                Collections.unmodifiableSet(directions), filler);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Level " + level + " is corrupt in the level pack", e);
+        }
+    }
+
+    private static LetterDistribution readFiller(ByteBuffer record) throws IOException {
+        int kind = record.get();
+        switch (kind) {
+            case LevelPack.FILLER_UNIFORM:
+                return LetterDistribution.UNIFORM;
+            case LevelPack.FILLER_ENGLISH:
+                return LetterDistribution.ENGLISH;
+            case LevelPack.FILLER_TABLE:
+                double[] keep = new double[LetterDistribution.LETTERS];
+                char[] alias = new char[LetterDistribution.LETTERS];
+                for (int i = 0; i < keep.length; i++) {
+                    keep[i] = record.getDouble();
+                    alias[i] = (char) ('A' + record.get());
+                }
+                return LetterDistribution.fromTable(keep, alias);
+            default:
+                throw new IOException("Unknown filler kind " + kind + " in the level pack");
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, start + position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Level pack is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
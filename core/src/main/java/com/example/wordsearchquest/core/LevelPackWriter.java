@@ -0,0 +1,187 @@
+package com.example.wordsearchquest.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiles the level files into a level pack at build time, so the app looks levels up by offset
+ * and never parses JSON. Runs on a plain JVM:
+ *
+ * <pre>
+ * java com.example.wordsearchquest.core.LevelPackWriter &lt;levelsDir&gt; &lt;output.pack&gt;
+ * </pre>
+ *
+ * Every {@code words_*.json} file in the directory is read. Any schema error, such as a missing
+ * field, a level number used twice, a gap in the numbering or a word that can't go in the grid,
+ * fails and nothing is written.
+ */
+public class LevelPackWriter {
+
+    private static final String LEVEL_FILE_PREFIX = "words_";
+    private static final String LEVEL_FILE_SUFFIX = ".json";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: LevelPackWriter <levelsDir> <output.pack>");
+            System.exit(2);
+        }
+        File levelsDir = new File(args[0]);
+        File output = new File(args[1]);
+
+        List<LevelDefinition> levels = readLevelFiles(levelsDir);
+        checkNumbering(levels);
+
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            write(levels, out);
+        }
+        System.out.println("Wrote " + levels.size() + " levels to " + output + " (" + output.length() + " bytes)");
+    }
+
+    // Every words_*.json file in the directory, with the levels in number order. The same files the
+    // build watches, so adding a file needs no code change.
+    public static List<LevelDefinition> readLevelFiles(File levelsDir) throws IOException {
+        File[] files = levelsDir.listFiles((dir, name) ->
+            name.startsWith(LEVEL_FILE_PREFIX) && name.endsWith(LEVEL_FILE_SUFFIX));
+        if (files == null || files.length == 0) {
+            throw new IOException("No level files in " + levelsDir);
+        }
+
+        List<LevelDefinition> levels = new ArrayList<>();
+        for (File file : files) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                levels.addAll(new LevelJsonReader(reader).readAll());
+            } catch (IOException e) {
+                throw new IOException(file.getName() + ": " + e.getMessage(), e);
+            }
+        }
+        levels.sort(Comparator.comparingInt(level -> level.level));
+        return levels;
+    }
+
+    // Levels may come in any order but each number only once
+    public static void write(List<LevelDefinition> levels, OutputStream output) throws IOException {
+        List<LevelDefinition> sorted = new ArrayList<>(levels);
+        sorted.sort(Comparator.comparingInt(level -> level.level));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).level == sorted.get(i - 1).level) {
+                throw new IOException("Level " + sorted.get(i).level + " is defined more than once");
+            }
+        }
+
+        // Records first, so the offset index can be written ahead of them
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(records);
+        int[] recordOffsets = new int[sorted.size() + 1];
+        for (int i = 0; i < sorted.size(); i++) {
+            recordOffsets[i] = recordOut.size();
+            writeRecord(sorted.get(i), recordOut);
+        }
+        recordOffsets[sorted.size()] = recordOut.size();
+
+        int dataStart = LevelPack.HEADER_BYTES + sorted.size() * LevelPack.INDEX_ENTRY_BYTES + 4;
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(LevelPack.MAGIC);
+        out.writeInt(LevelPack.VERSION);
+        out.writeInt(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            out.writeInt(sorted.get(i).level);
+            out.writeInt(dataStart + recordOffsets[i]);
+        }
+        out.writeInt(dataStart + recordOffsets[sorted.size()]);
+        records.writeTo(out);
+        out.flush();
+    }
+
+    // The app lists levels 1 to getLevelCount(), so every number in between has to exist
+    static void checkNumbering(List<LevelDefinition> levels) throws IOException {
+        boolean[] seen = new boolean[levels.size() + 1];
+        for (LevelDefinition level : levels) {
+            if (level.level < 1 || level.level > levels.size()) {
+                throw new IOException("Level " + level.level + " is outside 1-" + levels.size()
+                    + "; levels are numbered without gaps");
+            }
+            if (seen[level.level]) {
+                throw new IOException("Level " + level.level + " is defined more than once");
+            }
+            seen[level.level] = true;
+        }
+    }
+
+    private static void writeRecord(LevelDefinition level, DataOutputStream out) throws IOException {
+        if (level.gridSize > Short.MAX_VALUE || level.words.size() > Short.MAX_VALUE) {
+            throw new IOException("Level " + level.level + " is too large for the pack format");
+        }
+        if (level.words.isEmpty()) {
+            throw new IOException("Level " + level.level + " has no words");
+        }
+
+        out.writeShort(level.gridSize);
+        out.writeInt(level.timeLimit);
+        int directions = 0;
+        for (WordGridGenerator.Direction direction : level.directions) {
+            directions |= 1 << direction.ordinal();
+        }
+        out.writeByte(directions);
+
+        if (level.filler == LetterDistribution.UNIFORM) {
+            out.writeByte(LevelPack.FILLER_UNIFORM);
+        } else if (level.filler == LetterDistribution.ENGLISH) {
+            out.writeByte(LevelPack.FILLER_ENGLISH);
+        } else {
+            out.writeByte(LevelPack.FILLER_TABLE);
+            for (int i = 0; i < LetterDistribution.LETTERS; i++) {
+                out.writeDouble(level.filler.keep(i));
+                out.writeByte(level.filler.alias(i) - 'A');
+            }
+        }
+
+        writeString(level.difficulty, level, out);
+        out.writeShort(level.words.size());
+        for (String word : level.words) {
+            checkWord(word, level);
+            writeString(word, level, out);
+        }
+    }
+
+    // The generator and the puzzle pack only handle A-Z, and a word longer than the grid is never placed
+    private static void checkWord(String word, LevelDefinition level) throws IOException {
+        if (word.trim().isEmpty()) {
+            throw new IOException("Level " + level.level + " has a blank word");
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) < 'A' || word.charAt(i) > 'Z') {
+                throw new IOException("Level " + level.level + ": " + word + " has letters outside A-Z");
+            }
+        }
+        if (word.length() > level.gridSize) {
+            throw new IOException("Level " + level.level + ": " + word + " is longer than the "
+                + level.gridSize + "x" + level.gridSize + " grid");
+        }
+    }
+
+    private static void writeString(String value, LevelDefinition level, DataOutputStream out) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Level " + level.level + " has a string too long for the pack format");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
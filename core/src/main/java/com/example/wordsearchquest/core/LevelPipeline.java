@@ -0,0 +1,92 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Keeps the next few levels of an endless sequence built on a background thread, so moving on
+ * to the next level finds it ready. Levels are built in order, one at a time, and only a fixed
+ * window ahead of the level last asked for is kept, so memory stays the same however far the
+ * player goes and each level costs the same to reach.
+ *
+ * <p>Safe to call from several threads. Close the pipeline to stop its thread.
+ */
+public class LevelPipeline<T> implements AutoCloseable {
+
+    public interface Stage<T> {
+        T build(int level) throws Exception;
+    }
+
+    private final Stage<T> stage;
+    private final int depth;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "level-pipeline");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Builds for levels first, first + 1, ... in the order they were queued
+    private final ArrayDeque<Future<T>> window = new ArrayDeque<>();
+    private int first = 1;
+
+    // depth is how many levels are kept ready beyond the one being played
+    public LevelPipeline(Stage<T> stage, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth must be at least 1");
+        }
+        this.stage = stage;
+        this.depth = depth;
+    }
+
+    // Starts building level and the depth levels after it, dropping anything queued before it
+    public synchronized void prefetch(int level) {
+        moveTo(level);
+        while (window.size() <= depth) {
+            int next = first + window.size();
+            window.addLast(executor.submit(() -> stage.build(next)));
+        }
+    }
+
+    // Hands over the level, waiting if it is still being built, and leaves the depth levels after
+    // it queued. Errors from the stage are rethrown as the ExecutionException's cause.
+    public T take(int level) throws InterruptedException, ExecutionException {
+        Future<T> future;
+        synchronized (this) {
+            prefetch(level);
+            future = window.pollFirst();
+            first++;
+        }
+        return future.get();
+    }
+
+    // Number of levels queued or built, at most depth + 1
+    public synchronized int size() {
+        return window.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        moveTo(Integer.MAX_VALUE);
+        executor.shutdownNow();
+    }
+
+    private void moveTo(int level) {
+        if (level < first || level > first + window.size()) {
+            // Jumped back or far ahead, nothing queued is of use
+            for (Future<T> future : window) {
+                future.cancel(true);
+            }
+            window.clear();
+            first = level;
+            return;
+        }
+        while (first < level) {
+            window.pollFirst().cancel(true);
+            first++;
+        }
+    }
+}
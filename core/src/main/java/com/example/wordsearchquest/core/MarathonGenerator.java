@@ -0,0 +1,321 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generation for very large grids (hundreds of cells across, thousands of words), where the
+ * backtracking search would have to list every start of every word. Instead the free space is
+ * indexed as empty runs along each of the four line axes, bucketed by length. Words go in longest
+ * first, each one dropped into a random run that is long enough, so there is no probing for a
+ * spot and the cost stays close to linear in the grid area plus the total word length.
+ *
+ * <p>Runs are not updated when a word on another axis cuts through them. A run is checked when it
+ * is drawn instead, and split into the empty pieces it really has left. Words never cross here,
+ * which is what keeps placement a single pass; a word that finds no run long enough is left out.
+ *
+ * <p>The filler then gets the same scan as smaller grids, see {@link GridScanner}: one pass per
+ * line, so it stays linear in the grid area too.
+ */
+public class MarathonGenerator {
+
+    // Default cap on working memory, see GenerationOptions.memoryBudget
+    static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+    // The first four directions are the line axes; the reverse of direction d is d + AXES
+    private static final int AXES = 4;
+    private static final byte EMPTY = 0;
+
+    private final int size;
+    private final byte[] cells;
+    private final int[] steps = new int[AXES];
+    private final boolean[][] allowed = new boolean[AXES][2];
+    private final SplittableRandom random;
+    private final int shortestWord;
+    // Cells left to the filler, the only ones the scan may re-roll
+    private boolean[] filler;
+
+    // [axis * (size + 1) + length] -> runs packed as (start << 32) | length
+    private final long[][] runs;
+    private final int[] runCounts;
+    private final int[] axisUsage = new int[AXES];
+    // [word * directions + axis], only when stats are being collected. A probe here is one run
+    // drawn, and a rejected one is a run that turned out to be cut by an earlier word.
+    private long[] probeCounts;
+    private long[] rejectedCounts;
+
+    private MarathonGenerator(int size, GenerationOptions options, int shortestWord, SplittableRandom random) {
+        this.size = size;
+        this.cells = new byte[size * size];
+        this.random = random;
+        this.shortestWord = shortestWord;
+        this.runs = new long[AXES * (size + 1)][];
+        this.runCounts = new int[AXES * (size + 1)];
+
+        for (int axis = 0; axis < AXES; axis++) {
+            steps[axis] = DIRECTIONS[axis].dRow * size + DIRECTIONS[axis].dCol;
+            allowed[axis][0] = options.directions.contains(DIRECTIONS[axis]);
+            allowed[axis][1] = options.directions.contains(DIRECTIONS[axis + AXES]);
+        }
+    }
+
+    public static MarathonGrid generate(List<String> words, int gridSize, GenerationOptions options) {
+        return generate(words, gridSize, options, null);
+    }
+
+    // The listener hears about each word as it is placed; onFilled is left to the caller, which
+    // decides what form the finished grid takes
+    public static MarathonGrid generate(List<String> words, int gridSize, GenerationOptions options,
+                                        WordGridGenerator.GenerationListener listener) {
+        List<String> placeableWords = new ArrayList<>();
+        long letters = 0;
+        for (String word : words) {
+            if (isPlaceable(word, gridSize)) {
+                placeableWords.add(word);
+                letters += word.length();
+            }
+        }
+        placeableWords.sort((s1, s2) -> Integer.compare(s2.length(), s1.length()));
+
+        long needed = estimateBytes(gridSize, placeableWords.size(), letters);
+        if (needed > options.memoryBudget) {
+            throw new IllegalArgumentException("A " + gridSize + "x" + gridSize + " grid with " + placeableWords.size()
+                + " words needs about " + needed + " bytes, over the budget of " + options.memoryBudget);
+        }
+
+        int shortest = placeableWords.isEmpty() ? gridSize : placeableWords.get(placeableWords.size() - 1).length();
+        MarathonGenerator generator = new MarathonGenerator(gridSize, options, shortest, options.newRandom());
+        GenerationStats.Recorder recorder = GenerationStats.Recorder.forCall(options, placeableWords);
+        if (recorder != null) {
+            generator.probeCounts = GenerationStats.Recorder.newCounters(placeableWords.size());
+            generator.rejectedCounts = GenerationStats.Recorder.newCounters(placeableWords.size());
+            recorder.startPlacing();
+        }
+        generator.indexLines();
+
+        long[] placements = new long[placeableWords.size()];
+        int placementCount = 0;
+        for (int w = 0; w < placeableWords.size(); w++) {
+            long placement = generator.place(placeableWords.get(w), w);
+            if (placement >= 0) {
+                placements[placementCount++] = ((long) w << 32) | placement;
+                if (listener != null) {
+                    listener.onWordPlaced(MarathonGrid.toPlacement(placeableWords.get(w), (int) placement, gridSize));
+                }
+            }
+        }
+
+        if (recorder != null) recorder.startFilling();
+        generator.fillEmptySpaces(options.filler);
+        // Not cached like the smaller grids' automatons: marathon word lists are large and rarely repeat
+        GridScanner scanner = new GridScanner(new WordAutomaton(placeableWords), options.blocklist);
+        scanner.removeAccidentalWords(generator.new Letters(), gridSize, options.filler, generator.random);
+        MarathonGrid grid = new MarathonGrid(gridSize, generator.cells, placeableWords, placements, placementCount,
+            words.size());
+        if (recorder != null) {
+            recorder.finishFilling();
+            recorder.addAttempt(generator.probeCounts, generator.rejectedCounts);
+            List<WordGridGenerator.WordPlacement> placed = new ArrayList<>(placementCount);
+            for (int i = 0; i < placementCount; i++) {
+                placed.add(grid.getPlacement(i));
+            }
+            recorder.report(options, gridSize, words, placed);
+        }
+        return grid;
+    }
+
+    // Upper bound on the working set: the grid with its filler and scan flags, the placements, the
+    // run index and the target automaton. Every filled cell can split at most one run per axis, and
+    // the run buckets grow by doubling. The automaton has up to two states per letter, as every word
+    // goes in both ways round, each with 26 transitions and three ints of match data, and its
+    // tables are copied once while it is built.
+    static long estimateBytes(int gridSize, int wordCount, long letters) {
+        long cellBytes = 3L * gridSize * gridSize;
+        long placementBytes = 8L * wordCount;
+        long runBytes = 2 * 8L * AXES * (2L * gridSize + letters);
+        long automatonBytes = 2 * 4L * (26 + 3) * (1 + 2 * letters);
+        return cellBytes + placementBytes + runBytes + automatonBytes;
+    }
+
+    private static boolean isPlaceable(String word, int gridSize) {
+        if (word.isEmpty() || word.length() > gridSize) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) < 'A' || word.charAt(i) > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Every full line of every axis starts out as one empty run
+    private void indexLines() {
+        for (int i = 0; i < size; i++) {
+            addRun(0, i * size, size);
+            addRun(1, i, size);
+            addRun(2, i, size - i);
+            addRun(3, i * size, i + 1);
+            if (i > 0) {
+                addRun(2, i * size, size - i);
+                addRun(3, (size - 1) * size + i, size - i);
+            }
+        }
+    }
+
+    // Returns (start << 3) | direction, or -1 if no run on any allowed axis is long enough
+    private long place(String word, int wordIndex) {
+        int length = word.length();
+        boolean[] tried = new boolean[AXES];
+        for (int attempt = 0; attempt < AXES; attempt++) {
+            int axis = leastUsedAxis(tried);
+            if (axis < 0) {
+                return -1;
+            }
+            tried[axis] = true;
+
+            long run = takeRun(axis, length, wordIndex * DIRECTIONS.length + axis);
+            if (run < 0) {
+                continue;
+            }
+            int runStart = (int) (run >>> 32);
+            int runLength = (int) run;
+            int offset = random.nextInt(runLength - length + 1);
+            int step = steps[axis];
+            int first = runStart + offset * step;
+
+            boolean reversed = allowed[axis][0] && allowed[axis][1] ? random.nextBoolean() : allowed[axis][1];
+            for (int i = 0; i < length; i++) {
+                char c = word.charAt(reversed ? length - 1 - i : i);
+                cells[first + i * step] = (byte) c;
+            }
+
+            // What is left of the run on either side of the word goes back into the index
+            addRun(axis, runStart, offset);
+            addRun(axis, first + length * step, runLength - offset - length);
+            axisUsage[axis]++;
+
+            int start = reversed ? first + (length - 1) * step : first;
+            int direction = reversed ? axis + AXES : axis;
+            return ((long) start << 3) | direction;
+        }
+        return -1;
+    }
+
+    private int leastUsedAxis(boolean[] tried) {
+        int best = -1;
+        for (int axis = 0; axis < AXES; axis++) {
+            if (tried[axis] || !(allowed[axis][0] || allowed[axis][1])) continue;
+            if (best < 0 || axisUsage[axis] < axisUsage[best]) {
+                best = axis;
+            }
+        }
+        return best;
+    }
+
+    // Draws a random run of at least the given length that is still entirely empty, or -1
+    private long takeRun(int axis, int length, int statsSlot) {
+        int base = axis * (size + 1);
+        while (true) {
+            int available = 0;
+            for (int l = length; l <= size; l++) {
+                available += runCounts[base + l];
+            }
+            if (available == 0) {
+                return -1;
+            }
+
+            int pick = random.nextInt(available);
+            int bucket = base + length;
+            while (pick >= runCounts[bucket]) {
+                pick -= runCounts[bucket];
+                bucket++;
+            }
+            long run = runs[bucket][pick];
+            runs[bucket][pick] = runs[bucket][--runCounts[bucket]];
+
+            boolean cut = splitIfCut(axis, run);
+            if (probeCounts != null) {
+                probeCounts[statsSlot]++;
+                if (cut) rejectedCounts[statsSlot]++;
+            }
+            if (!cut) {
+                return run;
+            }
+        }
+    }
+
+    // Words on other axes may have filled some of the run since it was indexed. If so, re-index
+    // the empty pieces and report true; an untouched run is left for the caller.
+    private boolean splitIfCut(int axis, long run) {
+        int start = (int) (run >>> 32);
+        int length = (int) run;
+        int step = steps[axis];
+
+        boolean cut = false;
+        int pieceStart = start;
+        int pieceLength = 0;
+        for (int i = 0, index = start; i < length; i++, index += step) {
+            if (cells[index] == EMPTY) {
+                if (pieceLength == 0) {
+                    pieceStart = index;
+                }
+                pieceLength++;
+            } else {
+                cut = true;
+                addRun(axis, pieceStart, pieceLength);
+                pieceLength = 0;
+            }
+        }
+        if (cut) {
+            addRun(axis, pieceStart, pieceLength);
+        }
+        return cut;
+    }
+
+    private void addRun(int axis, int start, int length) {
+        if (length < shortestWord) {
+            // Too short for any word, so never worth drawing
+            return;
+        }
+        int bucket = axis * (size + 1) + length;
+        if (runs[bucket] == null) {
+            runs[bucket] = new long[4];
+        } else if (runCounts[bucket] == runs[bucket].length) {
+            runs[bucket] = Arrays.copyOf(runs[bucket], runCounts[bucket] * 2);
+        }
+        runs[bucket][runCounts[bucket]++] = ((long) start << 32) | length;
+    }
+
+    private void fillEmptySpaces(LetterDistribution distribution) {
+        filler = new boolean[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == EMPTY) {
+                cells[i] = (byte) distribution.sample(random);
+                filler[i] = true;
+            }
+        }
+    }
+
+    // The filled grid as the scanner reads and re-rolls it
+    private final class Letters implements GridScanner.Cells {
+
+        @Override
+        public char letterAt(int index) {
+            return (char) cells[index];
+        }
+
+        @Override
+        public void setLetter(int index, char letter) {
+            cells[index] = (byte) letter;
+        }
+
+        @Override
+        public boolean isPlaced(int index) {
+            return !filler[index];
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact result of {@link MarathonGenerator}: one byte per cell and one {@code long} per
+ * placement, so a 500x500 grid with thousands of words stays well under a megabyte. Placement
+ * objects are only created on request.
+ */
+public class MarathonGrid {
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    public final int size;
+    // Letters as 'A'..'Z'
+    private final byte[] cells;
+    private final List<String> words;
+    // (word index << 32) | (start cell << 3) | direction ordinal
+    private final long[] placements;
+    private final int placementCount;
+    // Including words the generator could not place at all, such as ones longer than the grid
+    private final int requestedCount;
+
+    MarathonGrid(int size, byte[] cells, List<String> words, long[] placements, int placementCount,
+                 int requestedCount) {
+        this.size = size;
+        this.cells = cells;
+        this.words = words;
+        this.placements = placements;
+        this.placementCount = placementCount;
+        this.requestedCount = requestedCount;
+    }
+
+    public char letterAt(int row, int col) {
+        return (char) cells[row * size + col];
+    }
+
+    public int getPlacementCount() {
+        return placementCount;
+    }
+
+    // Every requested word was placed
+    public boolean isComplete() {
+        return placementCount == requestedCount;
+    }
+
+    public WordGridGenerator.WordPlacement getPlacement(int index) {
+        long packed = placements[index];
+        return toPlacement(words.get((int) (packed >>> 32)), (int) packed, size);
+    }
+
+    // Unpacks the low half of a packed placement: (start cell << 3) | direction ordinal
+    static WordGridGenerator.WordPlacement toPlacement(String word, int packed, int size) {
+        int start = packed >>> 3;
+        WordGridGenerator.Direction direction = DIRECTIONS[packed & 0x7];
+        int startRow = start / size;
+        int startCol = start % size;
+        int endRow = startRow + direction.dRow * (word.length() - 1);
+        int endCol = startCol + direction.dCol * (word.length() - 1);
+        return new WordGridGenerator.WordPlacement(word, startRow, startCol, endRow, endCol, direction);
+    }
+
+    // Expands to the regular result type, for grids small enough to show in WordGridView
+    public WordGridGenerator.GridResult toGridResult() {
+        char[][] grid = new char[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                grid[row][col] = (char) cells[row * size + col];
+            }
+        }
+
+        List<WordGridGenerator.WordPlacement> wordPlacements = new ArrayList<>(placementCount);
+        for (int i = 0; i < placementCount; i++) {
+            wordPlacements.add(getPlacement(i));
+        }
+        return new WordGridGenerator.GridResult(grid, wordPlacements, isComplete());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Builds level definitions on demand from a {@link DifficultyCurve} and a {@link WordCorpusReader},
+ * for levels past the end of the level files. Each level takes its words from one category,
+ * and the same seed always gives the same words for the same level, so a retried level keeps its
+ * word list and nothing about earlier levels needs to be kept.
+ */
+public class ProceduralLevels {
+
+    private final WordCorpusReader corpus;
+    private final DifficultyCurve curve;
+    private final long seed;
+    private final List<String> categories;
+
+    public ProceduralLevels(WordCorpusReader corpus, DifficultyCurve curve, long seed) {
+        if (corpus.getCategories().isEmpty()) {
+            throw new IllegalArgumentException("The word corpus has no categories");
+        }
+        this.corpus = corpus;
+        this.curve = curve;
+        this.seed = seed;
+        this.categories = corpus.getCategories();
+    }
+
+    public DifficultyCurve getCurve() {
+        return curve;
+    }
+
+    public LevelDefinition define(int level) {
+        SplittableRandom random = new SplittableRandom(seed ^ (level * 0x9E3779B97F4A7C15L));
+        String category = categories.get(random.nextInt(categories.size()));
+        int wanted = curve.wordCount(level);
+        int minLength = curve.minWordLength(level);
+        int maxLength = curve.maxWordLength(level);
+
+        Set<String> words = new LinkedHashSet<>(
+            corpus.sample(category, minLength, maxLength, 0, curve.maxRank(level), wanted, random));
+        if (words.size() < wanted) {
+            // A small category runs out of common words first, so fall back to all of its words
+            words.addAll(corpus.sample(category, minLength, maxLength, 0, Integer.MAX_VALUE, wanted - words.size(), random));
+        }
+        return curve.define(level, new ArrayList<>(words));
+    }
+}
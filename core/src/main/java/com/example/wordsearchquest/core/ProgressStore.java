@@ -0,0 +1,288 @@
+package com.example.wordsearchquest.core;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The player's progress as one compact record: a completion bit and a best score per level, a
+ * running total, the unlocked level and the endless mode state. Every update is O(1) in memory,
+ * and the whole record is saved as one binary blob, so completing a level costs one write however
+ * many levels there are. At 10,000 levels the blob is about 41 KB.
+ *
+ * <pre>
+ * header   int magic "WSQS", int version, int unlockedLevel, int endlessLevel,
+ *          int endlessBestScore, byte hasEndlessSeed, long endlessSeed, int levelCount
+ * levels   ceil(levelCount / 64) x long completion bits (level n is bit n - 1),
+ *          levelCount x int best score
+ * </pre>
+ *
+ * All values are big-endian. The total score is not stored; it is summed once on read and kept
+ * up to date from then on. Methods are synchronized, so the store can be shared between threads.
+ */
+public class ProgressStore {
+
+    private static final int MAGIC = 0x57535153; // "WSQS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 33;
+    // Far beyond any level pack, and low enough that a corrupt count can't ask for more than a few MB
+    static final int MAX_LEVELS = 1 << 20;
+
+    private long[] completed = new long[1];
+    private int[] bestScores = new int[64];
+    // Highest level with a record; only levels up to here are written
+    private int levelCount = 0;
+    private int totalScore = 0;
+    private int unlockedLevel = 1;
+    private int endlessLevel = 1;
+    private int endlessBestScore = 0;
+    private boolean hasEndlessSeed = false;
+    private long endlessSeed;
+    // Set by every change and cleared by snapshotIfChanged
+    private boolean changed = false;
+
+    public static ProgressStore read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a supported progress file");
+        }
+        ProgressStore store = new ProgressStore();
+        store.unlockedLevel = in.readInt();
+        store.endlessLevel = in.readInt();
+        store.endlessBestScore = in.readInt();
+        store.hasEndlessSeed = in.readBoolean();
+        store.endlessSeed = in.readLong();
+        int levelCount = in.readInt();
+        if (levelCount < 0 || levelCount > MAX_LEVELS) {
+            throw new IOException("Corrupt progress file: " + levelCount + " levels");
+        }
+
+        byte[] bytes = new byte[wordCount(levelCount) * 8 + levelCount * 4];
+        in.readFully(bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        store.ensureCapacity(levelCount);
+        for (int i = 0; i < wordCount(levelCount); i++) {
+            store.completed[i] = buffer.getLong();
+        }
+        for (int i = 0; i < levelCount; i++) {
+            store.bestScores[i] = buffer.getInt();
+            store.totalScore += store.bestScores[i];
+        }
+        store.levelCount = levelCount;
+        return store;
+    }
+
+    public synchronized void write(OutputStream output) throws IOException {
+        output.write(encode());
+        output.flush();
+    }
+
+    // The record to save, or null if nothing changed since the last snapshot. Lets a background
+    // writer coalesce any number of updates into one write.
+    public synchronized byte[] snapshotIfChanged() {
+        if (!changed) {
+            return null;
+        }
+        changed = false;
+        return encode();
+    }
+
+    public synchronized int getUnlockedLevel() {
+        return unlockedLevel;
+    }
+
+    public synchronized void unlock(int level) {
+        if (level > unlockedLevel) {
+            unlockedLevel = level;
+            changed = true;
+        }
+    }
+
+    public synchronized boolean isCompleted(int level) {
+        checkLevel(level);
+        int index = level - 1;
+        return level <= levelCount && (completed[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public synchronized int getBestScore(int level) {
+        checkLevel(level);
+        return level <= levelCount ? bestScores[level - 1] : 0;
+    }
+
+    public synchronized int getTotalScore() {
+        return totalScore;
+    }
+
+    // Marks the level completed and keeps the score if it beats the best one so far
+    public synchronized void markCompleted(int level, int score) {
+        checkLevel(level);
+        if (level > MAX_LEVELS) {
+            throw new IllegalArgumentException("Levels stop at " + MAX_LEVELS + ": " + level);
+        }
+        int index = level - 1;
+        ensureCapacity(level);
+        levelCount = Math.max(levelCount, level);
+        long bit = 1L << index;
+        if ((completed[index >>> 6] & bit) == 0) {
+            completed[index >>> 6] |= bit;
+            changed = true;
+        }
+        if (score > bestScores[index]) {
+            totalScore += score - bestScores[index];
+            bestScores[index] = score;
+            changed = true;
+        }
+    }
+
+    // Next endless level to play
+    public synchronized int getEndlessLevel() {
+        return endlessLevel;
+    }
+
+    public synchronized int getEndlessBestScore() {
+        return endlessBestScore;
+    }
+
+    public synchronized void markEndlessCompleted(int level, int score) {
+        if (level + 1 > endlessLevel) {
+            endlessLevel = level + 1;
+            changed = true;
+        }
+        if (score > endlessBestScore) {
+            endlessBestScore = score;
+            changed = true;
+        }
+    }
+
+    public synchronized boolean hasEndlessSeed() {
+        return hasEndlessSeed;
+    }
+
+    public synchronized long getEndlessSeed() {
+        return endlessSeed;
+    }
+
+    public synchronized void setEndlessSeed(long seed) {
+        hasEndlessSeed = true;
+        endlessSeed = seed;
+        changed = true;
+    }
+
+    // The unlocked level and every completion bit in one copy, for a screen listing many levels
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(unlockedLevel, Arrays.copyOf(completed, wordCount(levelCount)));
+    }
+
+    // Back to a fresh install: only level 1 unlocked, no scores and no endless progress
+    public synchronized void reset() {
+        completed = new long[1];
+        bestScores = new int[64];
+        levelCount = 0;
+        totalScore = 0;
+        unlockedLevel = 1;
+        endlessLevel = 1;
+        endlessBestScore = 0;
+        hasEndlessSeed = false;
+        endlessSeed = 0;
+        changed = true;
+    }
+
+    /**
+     * What a level list shows for each level, frozen at one point in time. Comparing two
+     * snapshots works a 64-level word at a time, so finding what changed between visits to a
+     * list of 10,000 levels is a few hundred operations rather than one lookup per level.
+     */
+    public static final class Snapshot {
+
+        public final int unlockedLevel;
+        private final long[] completed;
+
+        Snapshot(int unlockedLevel, long[] completed) {
+            this.unlockedLevel = unlockedLevel;
+            this.completed = completed;
+        }
+
+        public boolean isUnlocked(int level) {
+            return level <= unlockedLevel;
+        }
+
+        public boolean isCompleted(int level) {
+            int index = level - 1;
+            return index >= 0 && (index >>> 6) < completed.length && (completed[index >>> 6] & (1L << index)) != 0;
+        }
+
+        // Levels from 1 to levelCount that are locked, unlocked or completed differently in the
+        // other snapshot, in ascending order
+        public int[] changedLevels(Snapshot other, int levelCount) {
+            BitSet changed = new BitSet();
+            int words = Math.max(completed.length, other.completed.length);
+            for (int i = 0; i < words; i++) {
+                long difference = word(completed, i) ^ word(other.completed, i);
+                while (difference != 0) {
+                    changed.set(i * 64 + Long.numberOfTrailingZeros(difference) + 1);
+                    difference &= difference - 1;
+                }
+            }
+            int low = Math.min(unlockedLevel, other.unlockedLevel);
+            int high = Math.max(unlockedLevel, other.unlockedLevel);
+            if (low < high) {
+                changed.set(low + 1, Math.min(high, levelCount) + 1);
+            }
+
+            int[] levels = new int[changed.get(1, levelCount + 1).cardinality()];
+            int n = 0;
+            for (int level = changed.nextSetBit(1); level >= 0 && level <= levelCount;
+                    level = changed.nextSetBit(level + 1)) {
+                levels[n++] = level;
+            }
+            return levels;
+        }
+
+        private static long word(long[] words, int index) {
+            return index < words.length ? words[index] : 0L;
+        }
+    }
+
+    private byte[] encode() {
+        int words = wordCount(levelCount);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + words * 8 + levelCount * 4);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(unlockedLevel);
+        buffer.putInt(endlessLevel);
+        buffer.putInt(endlessBestScore);
+        buffer.put((byte) (hasEndlessSeed ? 1 : 0));
+        buffer.putLong(endlessSeed);
+        buffer.putInt(levelCount);
+        for (int i = 0; i < words; i++) {
+            buffer.putLong(completed[i]);
+        }
+        for (int i = 0; i < levelCount; i++) {
+            buffer.putInt(bestScores[i]);
+        }
+        return buffer.array();
+    }
+
+    // Grows by doubling, so marking levels in order stays O(1) amortized
+    private void ensureCapacity(int levels) {
+        if (levels > bestScores.length) {
+            int capacity = Math.max(levels, bestScores.length * 2);
+            bestScores = Arrays.copyOf(bestScores, capacity);
+            completed = Arrays.copyOf(completed, wordCount(capacity));
+        }
+    }
+
+    private static int wordCount(int levels) {
+        return (levels + 63) >>> 6;
+    }
+
+    private static void checkLevel(int level) {
+        if (level < 1) {
+            throw new IllegalArgumentException("Levels start at 1: " + level);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.wordsearchquest.core;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Short shareable code for a generated puzzle. Generation is deterministic for a given seed, word
+ * list, generation options and grid size, so the code only needs the level (which supplies the
+ * words, directions and filler), the grid size and the seed; the grid itself is rebuilt on the
+ * receiving side against the blocklist shipped with the app.
+ *
+ * <p>Codes are Crockford base32 (case-insensitive, no I/L/O/U) with a trailing check character.
+ * The check treats the symbols as elements of GF(32) and weights each by a distinct power of a
+ * generator, so any single mistyped symbol and any two swapped neighbours are always caught.
+ */
+public class PuzzleCode {
+
+    private static final int VERSION = 2;
+    private static final int PAYLOAD_BYTES = 12;
+    static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    // x^5 + x^2 + 1, whose root generates all 31 non-zero elements of GF(32)
+    private static final int FIELD_POLYNOMIAL = 0x25;
+
+    public final int level;
+    public final int gridSize;
+    public final long seed;
+
+    public PuzzleCode(int level, int gridSize, long seed) {
+        if (level < 0 || level > 0xFFFF) {
+            throw new IllegalArgumentException("Level out of range: " + level);
+        }
+        if (gridSize < 1 || gridSize > 0xFF) {
+            throw new IllegalArgumentException("Grid size out of range: " + gridSize);
+        }
+        this.level = level;
+        this.gridSize = gridSize;
+        this.seed = seed;
+    }
+
+    // The options carry the level's generation settings; the seed is set from this code
+    public WordGridGenerator.GridResult rebuild(List<String> words, GenerationOptions options) {
+        return rebuild(words, options, null);
+    }
+
+    public WordGridGenerator.GridResult rebuild(List<String> words, GenerationOptions options,
+                                                WordGridGenerator.GenerationListener listener) {
+        return WordGridGenerator.generateGrid(words, gridSize, options.seed(seed), listener);
+    }
+
+    public String encode() {
+        byte[] payload = new byte[PAYLOAD_BYTES];
+        payload[0] = (byte) VERSION;
+        payload[1] = (byte) (level >>> 8);
+        payload[2] = (byte) level;
+        payload[3] = (byte) gridSize;
+        for (int i = 0; i < 8; i++) {
+            payload[4 + i] = (byte) (seed >>> (56 - 8 * i));
+        }
+
+        StringBuilder code = new StringBuilder();
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : payload) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                bits -= 5;
+                code.append(ALPHABET.charAt((buffer >>> bits) & 0x1F));
+            }
+        }
+        if (bits > 0) {
+            code.append(ALPHABET.charAt((buffer << (5 - bits)) & 0x1F));
+        }
+        code.append(ALPHABET.charAt(checksum(code, code.length())));
+        return code.toString();
+    }
+
+    public static PuzzleCode decode(String code) {
+        String normalized = code.trim().toUpperCase(Locale.ROOT)
+            .replace('O', '0')
+            .replace('I', '1')
+            .replace('L', '1')
+            .replace("-", "");
+        int expectedLength = (PAYLOAD_BYTES * 8 + 4) / 5 + 1;
+        if (normalized.length() != expectedLength) {
+            throw new IllegalArgumentException("Invalid puzzle code: " + code);
+        }
+
+        byte[] payload = new byte[PAYLOAD_BYTES];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = 0; i < normalized.length() - 1; i++) {
+            int value = ALPHABET.indexOf(normalized.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid puzzle code: " + code);
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8 && index < PAYLOAD_BYTES) {
+                bits -= 8;
+                payload[index++] = (byte) (buffer >>> bits);
+            }
+        }
+
+        int check = ALPHABET.indexOf(normalized.charAt(normalized.length() - 1));
+        if (check != checksum(normalized, normalized.length() - 1) || payload[0] != VERSION) {
+            throw new IllegalArgumentException("Invalid puzzle code: " + code);
+        }
+
+        int level = ((payload[1] & 0xFF) << 8) | (payload[2] & 0xFF);
+        int gridSize = payload[3] & 0xFF;
+        long seed = 0;
+        for (int i = 0; i < 8; i++) {
+            seed = (seed << 8) | (payload[4 + i] & 0xFF);
+        }
+        return new PuzzleCode(level, gridSize, seed);
+    }
+
+    // Taken over the symbols rather than the payload, so the padding bits of the last one count too.
+    // Weights run alpha, alpha^2, ..., all distinct and none equal to the check's own weight of 1.
+    private static int checksum(CharSequence symbols, int length) {
+        int check = 0;
+        int weight = 1;
+        for (int i = 0; i < length; i++) {
+            weight = multiply(weight, 2);
+            check ^= multiply(ALPHABET.indexOf(symbols.charAt(i)), weight);
+        }
+        return check;
+    }
+
+    private static int multiply(int a, int b) {
+        int product = 0;
+        while (b != 0) {
+            if ((b & 1) != 0) {
+                product ^= a;
+            }
+            a <<= 1;
+            if ((a & 0x20) != 0) {
+                a ^= FIELD_POLYNOMIAL;
+            }
+            b >>>= 1;
+        }
+        return product;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.wordsearchquest.core;
+
+/**
+ * Binary layout shared by {@link PuzzlePackWriter} and {@link PuzzlePackReader}. All values are
+ * big-endian.
+ *
+ * <pre>
+ * header   int magic "WSQP", int version, int puzzleCount, int levelCount
+ * levels   levelCount x (int level, int firstPuzzle, int puzzleCount)
+ * index    (puzzleCount + 1) x int absolute record offset, the last one marks the end of data
+ * record   short level, long seed, byte gridSize, byte placementCount,
+ *          placementCount x (byte startRow, byte startCol, byte direction, byte length),
+ *          gridSize * gridSize letters packed 5 bits each ('A' = 0), most significant bit first
+ * </pre>
+ *
+ * Placements don't store their words; they are read back from the letters they cover.
+ */
+public final class PuzzlePack {
+
+    static final int MAGIC = 0x57535150; // "WSQP"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int LEVEL_ENTRY_BYTES = 12;
+    static final int PLACEMENT_BYTES = 4;
+    static final int RECORD_HEADER_BYTES = 12;
+
+    public static class Puzzle {
+        public final int level;
+        public final long seed;
+        public final WordGridGenerator.GridResult gridResult;
+
+        public Puzzle(int level, long seed, WordGridGenerator.GridResult gridResult) {
+            this.level = level;
+            this.seed = seed;
+            this.gridResult = gridResult;
+        }
+    }
+
+    static int packedLetterBytes(int gridSize) {
+        return (gridSize * gridSize * 5 + 7) / 8;
+    }
+
+    private PuzzlePack() {
+    }
+}
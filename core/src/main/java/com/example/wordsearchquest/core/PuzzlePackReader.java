@@ -0,0 +1,141 @@
+package com.example.wordsearchquest.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Random access over a puzzle pack written by {@link PuzzlePackWriter}. Only the header and the
+ * level table are read up front; each puzzle costs one read of two index entries and one read of
+ * its record, so the rest of the pack is never touched.
+ *
+ * <p>The channel can point into a larger file (such as an uncompressed APK asset), so every
+ * position is relative to {@code start}. Reads are positional and safe from several threads.
+ */
+public class PuzzlePackReader {
+
+    private static final WordGridGenerator.Direction[] DIRECTIONS = WordGridGenerator.Direction.values();
+
+    private final FileChannel channel;
+    private final long start;
+    private final int puzzleCount;
+    private final int[] levels;
+    private final int[] firstPuzzles;
+    private final int[] puzzleCounts;
+
+    public PuzzlePackReader(FileChannel channel, long start) throws IOException {
+        this.channel = channel;
+        this.start = start;
+
+        ByteBuffer header = read(0, PuzzlePack.HEADER_BYTES);
+        if (header.getInt() != PuzzlePack.MAGIC || header.getInt() != PuzzlePack.VERSION) {
+            throw new IOException("Not a supported puzzle pack");
+        }
+        puzzleCount = header.getInt();
+        int levelCount = header.getInt();
+
+        levels = new int[levelCount];
+        firstPuzzles = new int[levelCount];
+        puzzleCounts = new int[levelCount];
+        ByteBuffer levelTable = read(PuzzlePack.HEADER_BYTES, levelCount * PuzzlePack.LEVEL_ENTRY_BYTES);
+        for (int i = 0; i < levelCount; i++) {
+            levels[i] = levelTable.getInt();
+            firstPuzzles[i] = levelTable.getInt();
+            puzzleCounts[i] = levelTable.getInt();
+        }
+    }
+
+    public int getPuzzleCount() {
+        return puzzleCount;
+    }
+
+    public int getPuzzleCount(int level) {
+        int entry = findLevel(level);
+        return entry < 0 ? 0 : puzzleCounts[entry];
+    }
+
+    // The index-th puzzle of the level, for 0 <= index < getPuzzleCount(level)
+    public PuzzlePack.Puzzle readPuzzle(int level, int index) throws IOException {
+        int entry = findLevel(level);
+        if (entry < 0 || index < 0 || index >= puzzleCounts[entry]) {
+            throw new IndexOutOfBoundsException("No puzzle " + index + " for level " + level);
+        }
+        return readPuzzle(firstPuzzles[entry] + index);
+    }
+
+    public PuzzlePack.Puzzle readPuzzle(int index) throws IOException {
+        if (index < 0 || index >= puzzleCount) {
+            throw new IndexOutOfBoundsException("No puzzle " + index);
+        }
+
+        long indexStart = PuzzlePack.HEADER_BYTES + (long) levels.length * PuzzlePack.LEVEL_ENTRY_BYTES;
+        ByteBuffer offsets = read(indexStart + index * 4L, 8);
+        int recordStart = offsets.getInt();
+        int recordEnd = offsets.getInt();
+        ByteBuffer record = read(recordStart, recordEnd - recordStart);
+
+        int level = record.getShort() & 0xFFFF;
+        long seed = record.getLong();
+        int gridSize = record.get() & 0xFF;
+        int placementCount = record.get() & 0xFF;
+
+        int[] placementData = new int[placementCount * 4];
+        for (int i = 0; i < placementData.length; i++) {
+            placementData[i] = record.get() & 0xFF;
+        }
+
+        char[][] grid = new char[gridSize][gridSize];
+        int buffer = 0;
+        int bits = 0;
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                if (bits < 5) {
+                    buffer = (buffer << 8) | (record.get() & 0xFF);
+                    bits += 8;
+                }
+                bits -= 5;
+                grid[row][col] = (char) ('A' + ((buffer >>> bits) & 0x1F));
+            }
+        }
+
+        List<WordGridGenerator.WordPlacement> placements = new ArrayList<>(placementCount);
+        for (int i = 0; i < placementCount; i++) {
+            int startRow = placementData[i * 4];
+            int startCol = placementData[i * 4 + 1];
+            WordGridGenerator.Direction direction = DIRECTIONS[placementData[i * 4 + 2]];
+            int length = placementData[i * 4 + 3];
+
+            char[] word = new char[length];
+            for (int j = 0; j < length; j++) {
+                word[j] = grid[startRow + j * direction.dRow][startCol + j * direction.dCol];
+            }
+            int endRow = startRow + (length - 1) * direction.dRow;
+            int endCol = startCol + (length - 1) * direction.dCol;
+            placements.add(new WordGridGenerator.WordPlacement(new String(word), startRow, startCol, endRow, endCol, direction));
+        }
+
+        return new PuzzlePack.Puzzle(level, seed, new WordGridGenerator.GridResult(grid, placements));
+    }
+
+    private int findLevel(int level) {
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] == level) return i;
+        }
+        return -1;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, start + position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Puzzle pack is truncated");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
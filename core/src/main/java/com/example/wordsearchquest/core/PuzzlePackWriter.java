@@ -0,0 +1,203 @@
+package com.example.wordsearchquest.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch generator for pre-validated puzzle packs. Runs on a plain JVM:
+ *
+ * <pre>
+ * java com.example.wordsearchquest.core.PuzzlePackWriter &lt;levelsDir&gt; &lt;output.pack&gt; [puzzlesPerLevel] [seed]
+ * </pre>
+ *
+ * Every {@code words_*.json} file in the directory is read, along with {@code blocklist.txt} when
+ * present. Each level gets the requested number of puzzles generated across all cores, and every
+ * puzzle is checked to contain every word before it is written.
+ */
+public class PuzzlePackWriter {
+
+    private static final String BLOCKLIST_FILE = "blocklist.txt";
+    // Seeds tried per puzzle before a level is reported as unplaceable
+    private static final int MAX_SEEDS_PER_PUZZLE = 16;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: PuzzlePackWriter <levelsDir> <output.pack> [puzzlesPerLevel] [seed]");
+            System.exit(2);
+        }
+        File levelsDir = new File(args[0]);
+        File output = new File(args[1]);
+        int puzzlesPerLevel = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 0L;
+
+        List<LevelDefinition> levels = LevelPackWriter.readLevelFiles(levelsDir);
+
+        WordAutomaton blocklist = WordAutomaton.EMPTY;
+        File blocklistFile = new File(levelsDir, BLOCKLIST_FILE);
+        if (blocklistFile.exists()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(blocklistFile), StandardCharsets.UTF_8)) {
+                blocklist = WordAutomaton.read(reader);
+            }
+        }
+
+        GenerationCounters counters = new GenerationCounters();
+        WordGridGenerator.setStatsListener(counters);
+        long start = System.nanoTime();
+        List<PuzzlePack.Puzzle> puzzles = generate(levels, puzzlesPerLevel, seed, blocklist);
+        WordGridGenerator.setStatsListener(null);
+        File parent = output.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            write(puzzles, out);
+        }
+        System.out.printf("Wrote %d puzzles for %d levels to %s (%d bytes) in %d ms%n",
+            puzzles.size(), levels.size(), output, output.length(), (System.nanoTime() - start) / 1_000_000);
+        System.out.println("Generation: " + counters);
+    }
+
+    // Generates puzzlesPerLevel validated puzzles per level, ordered by level then index. The
+    // result only depends on the levels and the seed, not on how many cores did the work.
+    public static List<PuzzlePack.Puzzle> generate(List<LevelDefinition> levels, int puzzlesPerLevel, long seed) {
+        return generate(levels, puzzlesPerLevel, seed, WordAutomaton.EMPTY);
+    }
+
+    public static List<PuzzlePack.Puzzle> generate(List<LevelDefinition> levels, int puzzlesPerLevel, long seed,
+                                                   WordAutomaton blocklist) {
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<Future<PuzzlePack.Puzzle>> futures = new ArrayList<>();
+            for (LevelDefinition level : levels) {
+                for (int i = 0; i < puzzlesPerLevel; i++) {
+                    long puzzleSeed = root.nextLong();
+                    futures.add(pool.submit(() -> generateValidated(level, puzzleSeed, blocklist)));
+                }
+            }
+
+            List<PuzzlePack.Puzzle> puzzles = new ArrayList<>(futures.size());
+            for (Future<PuzzlePack.Puzzle> future : futures) {
+                puzzles.add(future.get());
+            }
+            return puzzles;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating puzzles", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static PuzzlePack.Puzzle generateValidated(LevelDefinition level, long seed, WordAutomaton blocklist) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long puzzleSeed = seed;
+        for (int attempt = 0; attempt < MAX_SEEDS_PER_PUZZLE; attempt++) {
+            GenerationOptions options = level.generationOptions().blocklist(blocklist).seed(puzzleSeed);
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(level.words, level.gridSize, options);
+            if (result.complete) {
+                return new PuzzlePack.Puzzle(level.level, puzzleSeed, result);
+            }
+            puzzleSeed = seeds.nextLong();
+        }
+        throw new IllegalStateException("Level " + level.level + ": could not place every word");
+    }
+
+    public static void write(List<PuzzlePack.Puzzle> puzzles, OutputStream output) throws IOException {
+        // Records first, so the offset index can be written ahead of them
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(records);
+        int[] recordOffsets = new int[puzzles.size() + 1];
+        List<int[]> levelEntries = new ArrayList<>();
+
+        for (int i = 0; i < puzzles.size(); i++) {
+            PuzzlePack.Puzzle puzzle = puzzles.get(i);
+            int[] current = levelEntries.isEmpty() ? null : levelEntries.get(levelEntries.size() - 1);
+            if (current == null || current[0] != puzzle.level) {
+                levelEntries.add(new int[]{puzzle.level, i, 1});
+            } else {
+                current[2]++;
+            }
+
+            recordOffsets[i] = recordOut.size();
+            writeRecord(puzzle, recordOut);
+        }
+        recordOffsets[puzzles.size()] = recordOut.size();
+
+        int dataStart = PuzzlePack.HEADER_BYTES
+            + levelEntries.size() * PuzzlePack.LEVEL_ENTRY_BYTES
+            + recordOffsets.length * 4;
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(PuzzlePack.MAGIC);
+        out.writeInt(PuzzlePack.VERSION);
+        out.writeInt(puzzles.size());
+        out.writeInt(levelEntries.size());
+        for (int[] entry : levelEntries) {
+            out.writeInt(entry[0]);
+            out.writeInt(entry[1]);
+            out.writeInt(entry[2]);
+        }
+        for (int offset : recordOffsets) {
+            out.writeInt(dataStart + offset);
+        }
+        records.writeTo(out);
+        out.flush();
+    }
+
+    private static void writeRecord(PuzzlePack.Puzzle puzzle, DataOutputStream out) throws IOException {
+        char[][] grid = puzzle.gridResult.grid;
+        List<WordGridGenerator.WordPlacement> placements = puzzle.gridResult.wordPlacements;
+        if (grid.length > 0xFF || placements.size() > 0xFF) {
+            throw new IOException("Level " + puzzle.level + " is too large for the pack format");
+        }
+
+        out.writeShort(puzzle.level);
+        out.writeLong(puzzle.seed);
+        out.writeByte(grid.length);
+        out.writeByte(placements.size());
+        for (WordGridGenerator.WordPlacement placement : placements) {
+            out.writeByte(placement.startRow);
+            out.writeByte(placement.startCol);
+            out.writeByte(placement.direction.ordinal());
+            out.writeByte(placement.word.length());
+        }
+
+        int buffer = 0;
+        int bits = 0;
+        for (char[] row : grid) {
+            for (char letter : row) {
+                if (letter < 'A' || letter > 'Z') {
+                    throw new IOException("Level " + puzzle.level + " has a non A-Z letter: " + letter);
+                }
+                buffer = (buffer << 5) | (letter - 'A');
+                bits += 5;
+                if (bits >= 8) {
+                    bits -= 8;
+                    out.writeByte(buffer >>> bits);
+                }
+            }
+        }
+        if (bits > 0) {
+            out.writeByte(buffer << (8 - bits));
+        }
+    }
+}
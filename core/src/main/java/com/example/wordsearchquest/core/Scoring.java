@@ -0,0 +1,25 @@
+package com.example.wordsearchquest.core;
+
+/**
+ * Points for a level: a fixed amount per word found, plus a bonus for the seconds left on the
+ * clock when every word is found. Lost levels keep their word points but get no bonus.
+ */
+public final class Scoring {
+
+    public static final int POINTS_PER_WORD = 10;
+    public static final int POINTS_PER_SECOND_LEFT = 5;
+    // Dictionary words the grid spells by chance, see BonusWords
+    public static final int POINTS_PER_BONUS_WORD = 5;
+
+    private Scoring() {
+    }
+
+    public static int timeBonus(int secondsRemaining) {
+        return Math.max(0, secondsRemaining) * POINTS_PER_SECOND_LEFT;
+    }
+
+    public static int levelScore(int wordsFound, int secondsRemaining, boolean won) {
+        int score = wordsFound * POINTS_PER_WORD;
+        return won ? score + timeBonus(secondsRemaining) : score;
+    }
+}
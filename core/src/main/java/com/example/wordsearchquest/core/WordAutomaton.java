@@ -0,0 +1,165 @@
+package com.example.wordsearchquest.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aho-Corasick automaton over A-Z that recognises a set of words read either way round, so one
+ * forward pass over a grid line finds words in both of its directions. Failure links are folded
+ * into a dense transition table, which makes every step a single array lookup. Immutable once
+ * built, so one instance can be shared between generator threads.
+ */
+public final class WordAutomaton {
+
+    public static final WordAutomaton EMPTY = new WordAutomaton(Collections.emptyList());
+
+    private static final int ALPHABET = 26;
+
+    // next[state * ALPHABET + letter], with failure transitions already resolved
+    private final int[] next;
+    // Length of the longest word ending at each state, 0 if none
+    private final int[] matchLength;
+    // Nearest shorter state on the failure chain that ends a word, -1 if none
+    private final int[] matchLink;
+    // Which word ends at each state: its position in the constructor's collection, times two,
+    // plus one if it was read reversed; -1 if none. The first word to reach a state keeps it.
+    private final int[] matchWord;
+    private final int states;
+    private final int shortestWord;
+
+    public WordAutomaton(Collection<String> words) {
+        int capacity = 1;
+        for (String word : words) {
+            capacity += 2 * word.length();
+        }
+        int[] trie = new int[capacity * ALPHABET];
+        int[] lengths = new int[capacity];
+        int[] wordIds = new int[capacity];
+        Arrays.fill(trie, -1);
+        Arrays.fill(wordIds, -1);
+
+        int count = 1;
+        int shortest = Integer.MAX_VALUE;
+        int position = -1;
+        for (String word : words) {
+            position++;
+            if (!isLetters(word)) {
+                // A grid only holds A-Z, so anything else can never match
+                continue;
+            }
+            for (int reversed = 0; reversed < 2; reversed++) {
+                int state = 0;
+                for (int i = 0; i < word.length(); i++) {
+                    char c = word.charAt(reversed == 0 ? i : word.length() - 1 - i);
+                    int slot = state * ALPHABET + (c - 'A');
+                    if (trie[slot] < 0) {
+                        trie[slot] = count++;
+                    }
+                    state = trie[slot];
+                }
+                lengths[state] = word.length();
+                if (wordIds[state] < 0) {
+                    wordIds[state] = position * 2 + reversed;
+                }
+            }
+            shortest = Math.min(shortest, word.length());
+        }
+
+        this.states = count;
+        this.shortestWord = shortest;
+        this.next = Arrays.copyOf(trie, count * ALPHABET);
+        this.matchLength = Arrays.copyOf(lengths, count);
+        this.matchWord = Arrays.copyOf(wordIds, count);
+        this.matchLink = new int[count];
+
+        // Breadth first, so every failure target is complete before it is used
+        int[] fail = new int[count];
+        int[] queue = new int[count];
+        int head = 0;
+        int tail = 0;
+        matchLink[0] = -1;
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = next[c];
+            if (child < 0) {
+                next[c] = 0;
+            } else {
+                fail[child] = 0;
+                matchLink[child] = -1;
+                queue[tail++] = child;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int c = 0; c < ALPHABET; c++) {
+                int slot = state * ALPHABET + c;
+                int child = next[slot];
+                int fallback = next[fail[state] * ALPHABET + c];
+                if (child < 0) {
+                    next[slot] = fallback;
+                } else {
+                    fail[child] = fallback;
+                    matchLink[child] = matchLength[fallback] > 0 ? fallback : matchLink[fallback];
+                    queue[tail++] = child;
+                }
+            }
+        }
+    }
+
+    // One word per line; blank lines and lines starting with '#' are ignored
+    public static WordAutomaton read(Reader reader) throws IOException {
+        List<String> words = new ArrayList<>();
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                words.add(line.toUpperCase(Locale.ROOT));
+            }
+        }
+        return new WordAutomaton(words);
+    }
+
+    boolean isEmpty() {
+        return states == 1;
+    }
+
+    int shortestWord() {
+        return shortestWord;
+    }
+
+    int step(int state, char letter) {
+        return next[state * ALPHABET + (letter - 'A')];
+    }
+
+    int matchLength(int state) {
+        return matchLength[state];
+    }
+
+    int matchLink(int state) {
+        return matchLink[state];
+    }
+
+    int matchWord(int state) {
+        return matchWord[state];
+    }
+
+    private static boolean isLetters(String word) {
+        if (word.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.wordsearchquest.core;
+
+/**
+ * Binary layout shared by {@link WordCorpusWriter} and {@link WordCorpusReader}: a categorized
+ * word list, bucketed by category and word length and ranked by frequency. All values are
+ * big-endian.
+ *
+ * <pre>
+ * header     int magic "WSQC", int version, int wordCount, int categoryCount, int maxLength
+ * categories categoryCount x (short nameBytes, UTF-8 name)
+ * buckets    (categoryCount * maxLength + 1) x (int firstWord, int letterOffset), the bucket of
+ *            words of length L in category c at index c * maxLength + L - 1; the last entry
+ *            marks the end of the data
+ * ranks      wordCount x int frequency rank, 0 for the most frequent word, ascending per bucket
+ * letters    each bucket's words back to back, one byte per letter ('A' to 'Z')
+ * </pre>
+ *
+ * Letter offsets are absolute. Words in a bucket all have the same length, so the i-th one is
+ * found by arithmetic instead of through a per-word index.
+ */
+public final class WordCorpus {
+
+    static final int MAGIC = 0x57535143; // "WSQC"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 20;
+    static final int BUCKET_ENTRY_BYTES = 8;
+
+    public static class Entry {
+        public final String category;
+        public final String word;
+        public final int rank;
+
+        public Entry(String category, String word, int rank) {
+            this.category = category;
+            this.word = word;
+            this.rank = rank;
+        }
+    }
+
+    private WordCorpus() {
+    }
+}
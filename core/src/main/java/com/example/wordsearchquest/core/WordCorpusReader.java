@@ -0,0 +1,185 @@
+package com.example.wordsearchquest.core;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Samples words from a corpus written by {@link WordCorpusWriter} without loading it. The file is
+ * memory-mapped and only the header, category names and bucket table are read up front; a sample
+ * binary searches the frequency ranks of the buckets it spans and reads just the letters of the
+ * words it picks, so a corpus of any size costs a few kilobytes of heap.
+ *
+ * <p>Reads use absolute positions on the shared mapping, so a reader is safe from several threads.
+ */
+public class WordCorpusReader {
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int maxLength;
+    private final String[] categories;
+    private final int bucketTable;
+    private final int ranksStart;
+
+    public WordCorpusReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        try {
+            if (buffer.getInt(0) != WordCorpus.MAGIC || buffer.getInt(4) != WordCorpus.VERSION) {
+                throw new IOException("Not a supported word corpus");
+            }
+            wordCount = buffer.getInt(8);
+            int categoryCount = buffer.getInt(12);
+            maxLength = buffer.getInt(16);
+
+            categories = new String[categoryCount];
+            int position = WordCorpus.HEADER_BYTES;
+            for (int i = 0; i < categoryCount; i++) {
+                byte[] name = new byte[buffer.getShort(position)];
+                for (int j = 0; j < name.length; j++) {
+                    name[j] = buffer.get(position + 2 + j);
+                }
+                categories[i] = new String(name, StandardCharsets.UTF_8);
+                position += 2 + name.length;
+            }
+            bucketTable = position;
+            ranksStart = bucketTable + (categoryCount * maxLength + 1) * WordCorpus.BUCKET_ENTRY_BYTES;
+            if (buffer.limit() < letterOffset(categoryCount * maxLength)) {
+                throw new IOException("Word corpus is truncated");
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Word corpus is truncated", e);
+        }
+    }
+
+    // Maps length bytes of the channel from start, which may point into a larger file such as an
+    // uncompressed APK asset
+    public static WordCorpusReader open(FileChannel channel, long start, long length) throws IOException {
+        return new WordCorpusReader(channel.map(FileChannel.MapMode.READ_ONLY, start, length));
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public List<String> getCategories() {
+        return Arrays.asList(categories.clone());
+    }
+
+    public int getWordCount(String category, int length) {
+        int bucket = bucket(category, length);
+        return bucket < 0 ? 0 : firstWord(bucket + 1) - firstWord(bucket);
+    }
+
+    /**
+     * Up to count distinct words of the category, with minLength to maxLength letters and a
+     * frequency rank in [minRank, maxRank). Every matching word is equally likely; fewer come
+     * back when fewer match, and none for an unknown category.
+     */
+    public List<String> sample(String category, int minLength, int maxLength, int minRank, int maxRank,
+                               int count, SplittableRandom random) {
+        int categoryIndex = indexOf(category);
+        int lowest = Math.max(1, minLength);
+        int highest = Math.min(this.maxLength, maxLength);
+        if (categoryIndex < 0 || lowest > highest || count <= 0) {
+            return new ArrayList<>();
+        }
+
+        // The band of each length bucket, as a range of word indexes
+        int bucketCount = highest - lowest + 1;
+        int[] bandStarts = new int[bucketCount];
+        int[] bandEnds = new int[bucketCount];
+        int[] lengths = new int[bucketCount];
+        int matching = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            int bucket = categoryIndex * this.maxLength + lowest + i - 1;
+            int first = firstWord(bucket);
+            int end = firstWord(bucket + 1);
+            lengths[i] = lowest + i;
+            bandStarts[i] = lowerBound(first, end, minRank);
+            bandEnds[i] = lowerBound(bandStarts[i], end, maxRank);
+            matching += bandEnds[i] - bandStarts[i];
+        }
+
+        // Floyd's sampling picks count distinct positions among the matches in count steps
+        int picks = Math.min(count, matching);
+        Set<Integer> chosen = new HashSet<>();
+        List<String> words = new ArrayList<>(picks);
+        for (int j = matching - picks; j < matching; j++) {
+            int pick = random.nextInt(j + 1);
+            if (!chosen.add(pick)) {
+                pick = j;
+                chosen.add(pick);
+            }
+            for (int i = 0; i < bucketCount; i++) {
+                int size = bandEnds[i] - bandStarts[i];
+                if (pick < size) {
+                    words.add(readWord(categoryIndex * this.maxLength + lengths[i] - 1, bandStarts[i] + pick, lengths[i]));
+                    break;
+                }
+                pick -= size;
+            }
+        }
+        return words;
+    }
+
+    private int indexOf(String category) {
+        for (int i = 0; i < categories.length; i++) {
+            if (categories[i].equals(category)) return i;
+        }
+        return -1;
+    }
+
+    private int bucket(String category, int length) {
+        int categoryIndex = indexOf(category);
+        if (categoryIndex < 0 || length < 1 || length > maxLength) {
+            return -1;
+        }
+        return categoryIndex * maxLength + length - 1;
+    }
+
+    private int firstWord(int bucket) {
+        return buffer.getInt(bucketTable + bucket * WordCorpus.BUCKET_ENTRY_BYTES);
+    }
+
+    private int letterOffset(int bucket) {
+        return buffer.getInt(bucketTable + bucket * WordCorpus.BUCKET_ENTRY_BYTES + 4);
+    }
+
+    private int rank(int word) {
+        return buffer.getInt(ranksStart + word * 4);
+    }
+
+    // First word index in [from, to) whose rank is at least the given one
+    private int lowerBound(int from, int to, int rank) {
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (rank(middle) < rank) {
+                from = middle + 1;
+            } else {
+                to = middle;
+            }
+        }
+        return from;
+    }
+
+    private String readWord(int bucket, int word, int length) {
+        int offset = letterOffset(bucket) + (word - firstWord(bucket)) * length;
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) buffer.get(offset + i);
+        }
+        return new String(letters);
+    }
+}
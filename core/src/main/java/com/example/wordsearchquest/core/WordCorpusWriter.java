@@ -0,0 +1,195 @@
+package com.example.wordsearchquest.core;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Compiles a categorized word corpus into the {@link WordCorpus} format. Runs on a plain JVM:
+ *
+ * <pre>
+ * java com.example.wordsearchquest.core.WordCorpusWriter &lt;corpus.tsv&gt; &lt;output.corpus&gt;
+ * </pre>
+ *
+ * The input has one {@code category<TAB>word[<TAB>count]} line per word and category; blank lines
+ * and lines starting with '#' are ignored. Words are ranked by descending count, ties and missing
+ * counts keeping file order, so a list already sorted by frequency needs no counts at all.
+ */
+public class WordCorpusWriter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: WordCorpusWriter <corpus.tsv> <output.corpus>");
+            System.exit(2);
+        }
+        File input = new File(args[0]);
+        File output = new File(args[1]);
+
+        List<WordCorpus.Entry> entries;
+        try (Reader reader = new InputStreamReader(new FileInputStream(input), StandardCharsets.UTF_8)) {
+            entries = read(reader);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            write(entries, out);
+        }
+        Set<String> categories = new HashSet<>();
+        for (WordCorpus.Entry entry : entries) {
+            categories.add(entry.category);
+        }
+        System.out.printf("Wrote %d words in %d categories to %s (%d bytes)%n",
+            entries.size(), categories.size(), output, output.length());
+    }
+
+    // Words outside A-Z after upper casing are skipped, as no grid can hold them
+    public static List<WordCorpus.Entry> read(Reader reader) throws IOException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        List<String[]> lines = new ArrayList<>();
+        BufferedReader in = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || line.startsWith("#")) continue;
+
+            String[] fields = line.split("\t");
+            if (fields.length < 2) {
+                throw new IOException("Line " + lineNumber + ": expected category<TAB>word[<TAB>count]");
+            }
+            String category = fields[0].trim();
+            String word = fields[1].trim().toUpperCase(Locale.ROOT);
+            if (!isLetters(word)) continue;
+
+            long count;
+            try {
+                count = fields.length > 2 ? Long.parseLong(fields[2].trim()) : 0;
+            } catch (NumberFormatException e) {
+                throw new IOException("Line " + lineNumber + ": bad count " + fields[2], e);
+            }
+            counts.merge(word, count, Math::max);
+            lines.add(new String[]{category, word});
+        }
+
+        // A word's rank is shared by every category it appears in
+        List<String> ranked = new ArrayList<>(counts.keySet());
+        ranked.sort(Comparator.comparingLong((String word) -> counts.get(word)).reversed());
+        Map<String, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            ranks.put(ranked.get(i), i);
+        }
+
+        List<WordCorpus.Entry> entries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String[] fields : lines) {
+            if (seen.add(fields[0] + '\t' + fields[1])) {
+                entries.add(new WordCorpus.Entry(fields[0], fields[1], ranks.get(fields[1])));
+            }
+        }
+        return entries;
+    }
+
+    public static void write(List<WordCorpus.Entry> entries, OutputStream output) throws IOException {
+        // Categories in name order, each split into buckets by word length
+        TreeMap<String, List<List<WordCorpus.Entry>>> categories = new TreeMap<>();
+        int maxLength = 0;
+        for (WordCorpus.Entry entry : entries) {
+            if (!isLetters(entry.word)) {
+                throw new IOException("Not a word of A-Z letters: " + entry.word);
+            }
+            maxLength = Math.max(maxLength, entry.word.length());
+        }
+        for (WordCorpus.Entry entry : entries) {
+            List<List<WordCorpus.Entry>> buckets = categories.computeIfAbsent(entry.category, category -> new ArrayList<>());
+            while (buckets.size() < entry.word.length()) {
+                buckets.add(new ArrayList<>());
+            }
+            buckets.get(entry.word.length() - 1).add(entry);
+        }
+
+        List<byte[]> names = new ArrayList<>();
+        int namesBytes = 0;
+        for (String category : categories.keySet()) {
+            byte[] name = category.getBytes(StandardCharsets.UTF_8);
+            if (name.length > Short.MAX_VALUE) {
+                throw new IOException("Category name too long: " + category);
+            }
+            names.add(name);
+            namesBytes += 2 + name.length;
+        }
+        int bucketCount = categories.size() * maxLength;
+        long lettersStart = WordCorpus.HEADER_BYTES + namesBytes
+            + (bucketCount + 1L) * WordCorpus.BUCKET_ENTRY_BYTES + entries.size() * 4L;
+
+        // Bucket table, ranks and letters all follow from the same ordering
+        List<WordCorpus.Entry> ordered = new ArrayList<>(entries.size());
+        int[] firstWords = new int[bucketCount + 1];
+        long[] letterOffsets = new long[bucketCount + 1];
+        long letterOffset = lettersStart;
+        int bucket = 0;
+        for (List<List<WordCorpus.Entry>> buckets : categories.values()) {
+            for (int length = 1; length <= maxLength; length++, bucket++) {
+                firstWords[bucket] = ordered.size();
+                letterOffsets[bucket] = letterOffset;
+                if (length <= buckets.size()) {
+                    List<WordCorpus.Entry> words = buckets.get(length - 1);
+                    words.sort(Comparator.comparingInt(entry -> entry.rank));
+                    ordered.addAll(words);
+                    letterOffset += (long) words.size() * length;
+                }
+            }
+        }
+        firstWords[bucketCount] = ordered.size();
+        letterOffsets[bucketCount] = letterOffset;
+        if (letterOffset > Integer.MAX_VALUE) {
+            throw new IOException("Corpus too large: " + letterOffset + " bytes");
+        }
+
+        DataOutputStream out = new DataOutputStream(output);
+        out.writeInt(WordCorpus.MAGIC);
+        out.writeInt(WordCorpus.VERSION);
+        out.writeInt(ordered.size());
+        out.writeInt(categories.size());
+        out.writeInt(maxLength);
+        for (byte[] name : names) {
+            out.writeShort(name.length);
+            out.write(name);
+        }
+        for (int i = 0; i <= bucketCount; i++) {
+            out.writeInt(firstWords[i]);
+            out.writeInt((int) letterOffsets[i]);
+        }
+        for (WordCorpus.Entry entry : ordered) {
+            out.writeInt(entry.rank);
+        }
+        for (WordCorpus.Entry entry : ordered) {
+            out.writeBytes(entry.word);
+        }
+        out.flush();
+    }
+
+    private static boolean isLetters(String word) {
+        if (word.isEmpty()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'A' || c > 'Z') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.wordsearchquest.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class WordGridGenerator {
+    
+    public static class WordPlacement {
+        public final String word;
+        public final int startRow;
+        public final int startCol;
+        public final int endRow;
+        public final int endCol;
+        public final Direction direction;
+        
+        public WordPlacement(String word, int startRow, int startCol, int endRow, int endCol, Direction direction) {
+            this.word = word;
+            this.startRow = startRow;
+            this.startCol = startCol;
+            this.endRow = endRow;
+            this.endCol = endCol;
+            this.direction = direction;
+        }
+    }
+    
+    // Row and column step per letter. Ordinals are stored in puzzle packs, so only append.
+    public enum Direction {
+        HORIZONTAL(0, 1), VERTICAL(1, 0), DIAGONAL_DOWN(1, 1), DIAGONAL_UP(-1, 1),
+        HORIZONTAL_REVERSE(0, -1), VERTICAL_REVERSE(-1, 0), DIAGONAL_DOWN_REVERSE(-1, -1), DIAGONAL_UP_REVERSE(1, -1);
+        
+        public final int dRow;
+        public final int dCol;
+        
+        Direction(int dRow, int dCol) {
+            this.dRow = dRow;
+            this.dCol = dCol;
+        }
+    }
+    
+    public static final Set<Direction> FORWARD_DIRECTIONS = Collections.unmodifiableSet(
+        EnumSet.of(Direction.HORIZONTAL, Direction.VERTICAL, Direction.DIAGONAL_DOWN, Direction.DIAGONAL_UP));
+    public static final Set<Direction> ALL_DIRECTIONS = Collections.unmodifiableSet(EnumSet.allOf(Direction.class));
+    
+    // Parses a level file direction list: direction names, or the shorthands "forward" and "all"
+    public static Set<Direction> parseDirections(List<String> names) {
+        Set<Direction> directions = EnumSet.noneOf(Direction.class);
+        for (String name : names) {
+            if (name.equalsIgnoreCase("forward")) {
+                directions.addAll(FORWARD_DIRECTIONS);
+            } else if (name.equalsIgnoreCase("all")) {
+                directions.addAll(ALL_DIRECTIONS);
+            } else {
+                directions.add(Direction.valueOf(name.toUpperCase(Locale.ROOT)));
+            }
+        }
+        if (directions.isEmpty()) {
+            throw new IllegalArgumentException("At least one direction is required");
+        }
+        return Collections.unmodifiableSet(directions);
+    }
+    
+    public static class GridResult {
+        public final char[][] grid;
+        public final List<WordPlacement> wordPlacements;
+        // Every requested word was placed; false when the search gave up or ran out of time, or a
+        // word is longer than the grid and could never fit
+        public final boolean complete;
+        
+        public GridResult(char[][] grid, List<WordPlacement> wordPlacements) {
+            this(grid, wordPlacements, true);
+        }
+        
+        public GridResult(char[][] grid, List<WordPlacement> wordPlacements, boolean complete) {
+            this.grid = grid;
+            this.wordPlacements = wordPlacements;
+            this.complete = complete;
+        }
+    }
+    
+    // Progress of a single generateGrid call, reported on the generating thread. Placements arrive
+    // once they are final, so a view can draw the bare words before the filler exists.
+    public interface GenerationListener {
+        void onWordPlaced(WordPlacement placement);
+        
+        void onFilled(GridResult result);
+    }
+    
+    // Upper bound on candidate checks per grid, so generation cost does not depend on luck
+    private static final long PROBE_BUDGET = 2_000_000L;
+    
+    // Building a word automaton costs more than scanning with it, so keep the recent levels' ones
+    private static final int CACHED_AUTOMATA = 8;
+    private static final Map<List<String>, WordAutomaton> targetAutomata =
+        new LinkedHashMap<List<String>, WordAutomaton>(CACHED_AUTOMATA * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, WordAutomaton> eldest) {
+                return size() > CACHED_AUTOMATA;
+            }
+        };
+    
+    // Beyond this size listing every start of every word costs too much, so marathon generation takes over
+    static final int MARATHON_GRID_SIZE = 32;
+    
+    private static final int PARALLEL_ATTEMPTS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static ExecutorService generationPool;
+    private static volatile GenerationStats.Listener statsListener;
+    
+    // Hears about every grid generated in this process, on top of any per-call listener. Pass a
+    // GenerationCounters to keep running totals, or null to stop collecting.
+    public static void setStatsListener(GenerationStats.Listener listener) {
+        statsListener = listener;
+    }
+    
+    static GenerationStats.Listener getStatsListener() {
+        return statsListener;
+    }
+    
+    public static GridResult generateGrid(List<String> words, int gridSize) {
+        return generateGrid(words, gridSize, new GenerationOptions());
+    }
+    
+    public static GridResult generateGrid(List<String> words, int gridSize, long seed) {
+        return generateGrid(words, gridSize, new GenerationOptions().seed(seed));
+    }
+    
+    // With a seed set, the same options, words and grid size always produce the same grid, on any device
+    public static GridResult generateGrid(List<String> words, int gridSize, GenerationOptions options) {
+        return generateGrid(words, gridSize, options, null);
+    }
+    
+    // Same grid as without a listener; the listener only observes it being built
+    public static GridResult generateGrid(List<String> words, int gridSize, GenerationOptions options,
+                                          GenerationListener listener) {
+        GridResult result;
+        if (gridSize > MARATHON_GRID_SIZE) {
+            // Marathon placements are final as soon as they are made, so they stream while the rest is placed
+            result = MarathonGenerator.generate(words, gridSize, options, listener).toGridResult();
+        } else {
+            // The search backtracks, so placements are only reported once it has settled
+            List<String> placeableWords = placeableWords(words, gridSize);
+            GenerationStats.Recorder recorder = GenerationStats.Recorder.forCall(options, placeableWords);
+            long start = System.nanoTime();
+            if (recorder != null) recorder.startPlacing();
+            Attempt attempt = runAttempt(placeableWords, gridSize, options, options.newRandom(), null,
+                start, recorder != null);
+            if (recorder != null) recorder.addAttempt(attempt.probeCounts, attempt.rejectedCounts);
+            if (listener != null) {
+                for (WordPlacement placement : attempt.placer.getPlacements()) {
+                    listener.onWordPlaced(placement);
+                }
+            }
+            result = finish(attempt, placeableWords, words.size(), options, recorder);
+            if (recorder != null) recorder.report(options, gridSize, words, result.wordPlacements);
+        }
+        
+        if (listener != null) {
+            listener.onFilled(result);
+        }
+        return result;
+    }
+    
+    public static GridResult generateGridParallel(List<String> words, int gridSize) {
+        return generateGridParallel(words, gridSize, new GenerationOptions());
+    }
+    
+    // Races several independently shuffled searches across cores and keeps the first one that
+    // places every word, otherwise the one that placed the most. Blocks the calling thread. Which
+    // search wins depends on timing, so a seed does not make the result reproducible here. The
+    // cancel flag stops every search, like on the serial path, and an interrupt returns an empty,
+    // incomplete grid if no search has finished yet.
+    public static GridResult generateGridParallel(List<String> words, int gridSize, GenerationOptions options) {
+        if (gridSize > MARATHON_GRID_SIZE) {
+            return generateGrid(words, gridSize, options);
+        }
+        
+        List<String> placeableWords = placeableWords(words, gridSize);
+        SplittableRandom root = options.newRandom();
+        // Set once a search solves the grid or the race is over, on top of the caller's cancel flag
+        AtomicBoolean raceOver = new AtomicBoolean();
+        GenerationStats.Recorder recorder = GenerationStats.Recorder.forCall(options, placeableWords);
+        boolean recordProbes = recorder != null;
+        long start = System.nanoTime();
+        if (recorder != null) recorder.startPlacing();
+        
+        ExecutorCompletionService<Attempt> completion = new ExecutorCompletionService<>(getGenerationPool());
+        List<Future<Attempt>> futures = new ArrayList<>();
+        for (int i = 0; i < PARALLEL_ATTEMPTS; i++) {
+            // Each attempt gets its own generator, so no two threads share random state
+            SplittableRandom attemptRandom = root.split();
+            futures.add(completion.submit(
+                () -> runAttempt(placeableWords, gridSize, options, attemptRandom, raceOver, start, recordProbes)));
+        }
+        
+        Attempt best = null;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Attempt attempt = completion.take().get();
+                if (recorder != null) recorder.addAttempt(attempt.probeCounts, attempt.rejectedCounts);
+                if (attempt.outcome == BacktrackingPlacer.Outcome.SOLVED) {
+                    best = attempt;
+                    break;
+                }
+                if (best == null || attempt.placedCount() > best.placedCount()) {
+                    best = attempt;
+                }
+                if (options.cancelled != null && options.cancelled.get()) {
+                    // The others stop at their next check; nobody waits for the grid any more
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Grid generation failed", e.getCause());
+        } finally {
+            // Stop the attempts that are still searching and drop the ones not started yet
+            raceOver.set(true);
+            for (Future<Attempt> future : futures) {
+                future.cancel(false);
+            }
+        }
+        
+        if (best == null) {
+            // Interrupted before any search finished: an empty grid, rather than searching on here
+            GridBoard board = new GridBoard(gridSize);
+            fillEmptySpaces(board.cells, options.filler, root);
+            return new GridResult(board.toRows(), new ArrayList<>(), false);
+        }
+        GridResult result = finish(best, placeableWords, words.size(), options, recorder);
+        if (recorder != null) recorder.report(options, gridSize, words, result.wordPlacements);
+        return result;
+    }
+    
+    private static synchronized ExecutorService getGenerationPool() {
+        if (generationPool == null) {
+            generationPool = Executors.newFixedThreadPool(PARALLEL_ATTEMPTS, runnable -> {
+                Thread thread = new Thread(runnable, "grid-generator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return generationPool;
+    }
+    
+    private static List<String> placeableWords(List<String> words, int gridSize) {
+        // Words longer than the grid can never fit, so the search skips them and they are reported
+        // as dropped
+        List<String> placeableWords = new ArrayList<>();
+        for (String word : words) {
+            if (!word.isEmpty() && word.length() <= gridSize) {
+                placeableWords.add(word);
+            }
+        }
+        
+        // Longest first, so the search tries the hardest words early when constraints tie
+        placeableWords.sort((s1, s2) -> Integer.compare(s2.length(), s1.length()));
+        return placeableWords;
+    }
+    
+    // raceOver is null outside generateGridParallel
+    private static Attempt runAttempt(List<String> words, int gridSize, GenerationOptions options,
+                                      SplittableRandom random, AtomicBoolean raceOver, long startNanos,
+                                      boolean recordProbes) {
+        GridBoard board = new GridBoard(gridSize);
+        BacktrackingPlacer placer = new BacktrackingPlacer(board, words, options.directions, random, PROBE_BUDGET,
+            options.cancelled);
+        if (raceOver != null) {
+            placer.alsoCancelledBy(raceOver);
+        }
+        if (options.timeBudgetNanos != 0) {
+            placer.stopAt(startNanos + options.timeBudgetNanos);
+        }
+        long[] probeCounts = null;
+        long[] rejectedCounts = null;
+        if (recordProbes) {
+            probeCounts = GenerationStats.Recorder.newCounters(words.size());
+            rejectedCounts = GenerationStats.Recorder.newCounters(words.size());
+            placer.recordProbes(probeCounts, rejectedCounts);
+        }
+        BacktrackingPlacer.Outcome outcome = placer.search();
+        return new Attempt(board, placer, outcome, random, probeCounts, rejectedCounts);
+    }
+    
+    private static GridResult finish(Attempt attempt, List<String> words, int requestedCount,
+                                     GenerationOptions options, GenerationStats.Recorder recorder) {
+        List<WordPlacement> wordPlacements = attempt.placer.getPlacements();
+        
+        // Fill empty spaces with random letters
+        if (recorder != null) recorder.startFilling();
+        fillEmptySpaces(attempt.board.cells, options.filler, attempt.random);
+        GridScanner scanner = new GridScanner(getTargetAutomaton(words), options.blocklist);
+        scanner.removeAccidentalWords(attempt.board, attempt.board.size, options.filler, attempt.random);
+        if (recorder != null) recorder.finishFilling();
+        
+        return new GridResult(attempt.board.toRows(), wordPlacements, wordPlacements.size() == requestedCount);
+    }
+    
+    private static WordAutomaton getTargetAutomaton(List<String> words) {
+        synchronized (targetAutomata) {
+            WordAutomaton automaton = targetAutomata.get(words);
+            if (automaton == null) {
+                automaton = new WordAutomaton(words);
+                targetAutomata.put(words, automaton);
+            }
+            return automaton;
+        }
+    }
+    
+    private static void fillEmptySpaces(char[] cells, LetterDistribution filler, SplittableRandom random) {
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] == GridBoard.EMPTY) {
+                cells[i] = filler.sample(random);
+            }
+        }
+    }
+    
+    private static class Attempt {
+        final GridBoard board;
+        final BacktrackingPlacer placer;
+        final BacktrackingPlacer.Outcome outcome;
+        final SplittableRandom random;
+        // Null unless stats are being collected
+        final long[] probeCounts;
+        final long[] rejectedCounts;
+        
+        Attempt(GridBoard board, BacktrackingPlacer placer, BacktrackingPlacer.Outcome outcome, SplittableRandom random,
+                long[] probeCounts, long[] rejectedCounts) {
+            this.board = board;
+            this.placer = placer;
+            this.outcome = outcome;
+            this.random = random;
+            this.probeCounts = probeCounts;
+            this.rejectedCounts = rejectedCounts;
+        }
+        
+        int placedCount() {
+            return placer.placedCount();
+        }
+    }
+}
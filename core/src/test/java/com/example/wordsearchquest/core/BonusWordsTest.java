@@ -0,0 +1,71 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+public class BonusWordsTest {
+
+    @Test
+    public void find_readsEveryDirectionAndSkipsShortWords() {
+        char[][] grid = {
+            "STAR".toCharArray(),
+            "XOXE".toCharArray(),
+            "XXOV".toCharArray(),
+            "XXXE".toCharArray(),
+        };
+        Dawg dictionary = Dawg.build(Arrays.asList("STAR", "RATS", "EVE", "EVER", "SOON", "OOX", "ZOOM"));
+
+        Set<String> found = BonusWords.find(grid, dictionary, Collections.emptyList());
+
+        // EVER reads upwards in the last column; EVE and OOX are too short
+        assertEquals(new TreeSet<>(Arrays.asList("EVER", "RATS", "STAR")), found);
+    }
+
+    @Test
+    public void find_leavesOutTheGridsOwnWords() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 9, new GenerationOptions().seed(4));
+        List<String> dictionary = new ArrayList<>(words);
+        dictionary.add("ZZZZ");
+
+        assertTrue(BonusWords.find(result, Dawg.build(dictionary)).isEmpty());
+    }
+
+    @Test
+    public void find_matchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(9);
+        char[][] grid = new char[15][15];
+        for (char[] row : grid) {
+            for (int col = 0; col < row.length; col++) {
+                row[col] = (char) ('A' + random.nextInt(4));
+            }
+        }
+        List<String> dictionary = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            char[] word = new char[2 + random.nextInt(6)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('A' + random.nextInt(4));
+            }
+            dictionary.add(new String(word));
+        }
+
+        Set<String> found = BonusWords.find(grid, Dawg.build(dictionary), Collections.emptyList());
+
+        Set<String> expected = new TreeSet<>();
+        for (String word : dictionary) {
+            if (word.length() >= BonusWords.MIN_LENGTH && !GridSolver.solve(grid, Collections.singleton(word)).isEmpty()) {
+                expected.add(word);
+            }
+        }
+        assertEquals(expected, found);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class DawgTest {
+
+    @Test
+    public void contains_onlyWholeWords() {
+        Dawg dawg = Dawg.build(Arrays.asList("card", "CARE", "cared", "cars", "cat"));
+
+        assertEquals(5, dawg.getWordCount());
+        assertTrue(dawg.contains("CARD"));
+        assertTrue(dawg.contains("CARED"));
+        assertTrue(dawg.contains("CAT"));
+        assertFalse(dawg.contains("CAR"));
+        assertFalse(dawg.contains("CARDS"));
+        assertFalse(dawg.contains("DOG"));
+        assertFalse(dawg.contains(""));
+    }
+
+    @Test
+    public void build_skipsDuplicatesAndNonLetters() throws IOException {
+        Dawg dawg = Dawg.build(new StringReader("# comment\nhouse\nHOUSE\n\nice-cream\nna\u00efve\ntree\n"));
+
+        assertEquals(2, dawg.getWordCount());
+        assertTrue(dawg.contains("HOUSE"));
+        assertTrue(dawg.contains("TREE"));
+        assertFalse(dawg.contains("ICE-CREAM"));
+    }
+
+    @Test
+    public void build_sharesCommonEndings() {
+        // Every word ends in -ING, so the suffix is stored once however many stems there are
+        List<String> words = new ArrayList<>();
+        for (char c = 'A'; c <= 'Z'; c++) {
+            words.add(c + "ING");
+        }
+        Dawg dawg = Dawg.build(words);
+
+        // 26 first letters, then one I, N and G
+        assertEquals(29, dawg.getEdgeCount());
+    }
+
+    @Test
+    public void emptyDictionary_containsNothing() {
+        Dawg dawg = Dawg.build(Collections.emptyList());
+
+        assertEquals(0, dawg.getWordCount());
+        assertFalse(dawg.contains("WORD"));
+    }
+
+    @Test
+    public void writeAndRead_roundTripsALargeDictionary() throws IOException {
+        SplittableRandom random = new SplittableRandom(11);
+        Set<String> words = new HashSet<>();
+        while (words.size() < 120_000) {
+            char[] word = new char[3 + random.nextInt(8)];
+            for (int i = 0; i < word.length; i++) {
+                word[i] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(word));
+        }
+        Dawg built = Dawg.build(words);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        built.write(bytes);
+        Dawg read = Dawg.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(built.getEdgeCount(), read.getEdgeCount());
+        assertEquals(words.size(), read.getWordCount());
+        for (String word : words) {
+            assertTrue(read.contains(word));
+        }
+        assertFalse(read.contains("QQQQQQQQQQQ"));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherFiles() throws IOException {
+        Dawg.read(new ByteArrayInputStream(new byte[16]));
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class EndlessLevelsTest {
+
+    @Test
+    public void difficultyCurve_growsAndLevelsOff() {
+        DifficultyCurve curve = DifficultyCurve.DEFAULT;
+
+        assertEquals(DifficultyCurve.MIN_GRID_SIZE, curve.gridSize(1));
+        assertEquals("Easy", curve.difficulty(1));
+        assertEquals(WordGridGenerator.FORWARD_DIRECTIONS, curve.directions(1));
+        for (int level = 1; level < 500; level++) {
+            assertTrue(curve.gridSize(level + 1) >= curve.gridSize(level));
+            assertTrue(curve.wordCount(level + 1) >= curve.wordCount(level));
+            assertTrue(curve.maxWordLength(level) <= curve.gridSize(level));
+            assertTrue(curve.timeLimit(level) >= 60);
+        }
+        assertEquals(DifficultyCurve.MAX_GRID_SIZE, curve.gridSize(1_000_000));
+        assertEquals(WordGridGenerator.ALL_DIRECTIONS, curve.directions(1_000_000));
+    }
+
+    @Test
+    public void proceduralLevels_areReproducibleAndFollowTheCurve() throws IOException {
+        ProceduralLevels levels = new ProceduralLevels(corpus(), DifficultyCurve.DEFAULT, 42L);
+
+        for (int level : new int[]{1, 7, 60, 5000}) {
+            LevelDefinition definition = levels.define(level);
+            assertEquals(level, definition.level);
+            assertEquals(DifficultyCurve.DEFAULT.gridSize(level), definition.gridSize);
+            assertEquals(DifficultyCurve.DEFAULT.wordCount(level), definition.words.size());
+            assertEquals(definition.words.size(), new HashSet<>(definition.words).size());
+            for (String word : definition.words) {
+                assertTrue(word.length() <= definition.gridSize);
+            }
+            assertEquals(definition.words, levels.define(level).words);
+        }
+        assertNotEquals(levels.define(3).words, new ProceduralLevels(corpus(), DifficultyCurve.DEFAULT, 43L).define(3).words);
+    }
+
+    @Test
+    public void pipeline_keepsAFixedWindowAhead() throws Exception {
+        AtomicInteger built = new AtomicInteger();
+        try (LevelPipeline<Integer> pipeline = new LevelPipeline<>(level -> {
+            built.incrementAndGet();
+            return level * 10;
+        }, 3)) {
+            for (int level = 1; level <= 1000; level++) {
+                assertEquals(level * 10, (int) pipeline.take(level));
+                assertTrue(pipeline.size() <= 3);
+            }
+            // Each level is built once, plus the window still ahead of the last one
+            assertTrue(built.get() <= 1000 + 3);
+
+            // Going back starts over from that level
+            assertEquals(50, (int) pipeline.take(5));
+        }
+    }
+
+    @Test
+    public void pipeline_nextLevelIsQueuedWhenOneIsTaken() throws Exception {
+        ProceduralLevels levels = new ProceduralLevels(corpus(), DifficultyCurve.DEFAULT, 7L);
+        List<Integer> started = Collections.synchronizedList(new ArrayList<>());
+        try (LevelPipeline<WordGridGenerator.GridResult> pipeline = new LevelPipeline<>(level -> {
+            started.add(level);
+            LevelDefinition definition = levels.define(level);
+            return WordGridGenerator.generateGrid(definition.words, definition.gridSize, definition.generationOptions());
+        }, 2)) {
+            for (int level = 1; level <= 40; level++) {
+                WordGridGenerator.GridResult result = pipeline.take(level);
+                assertEquals(DifficultyCurve.DEFAULT.gridSize(level), result.grid.length);
+                assertFalse(result.wordPlacements.isEmpty());
+                // The next two levels are already building or queued behind this one
+                assertEquals(2, pipeline.size());
+            }
+        }
+
+        // Built in order, each level once
+        assertTrue(started.size() >= 40);
+        for (int i = 0; i < started.size(); i++) {
+            assertEquals(i + 1, (int) started.get(i));
+        }
+    }
+
+    @Test
+    public void pipeline_rethrowsStageErrors() throws InterruptedException {
+        try (LevelPipeline<Integer> pipeline = new LevelPipeline<>(level -> {
+            throw new IOException("level " + level);
+        }, 1)) {
+            pipeline.take(1);
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals("level 1", e.getCause().getMessage());
+        }
+    }
+
+    private static WordCorpusReader corpus() throws IOException {
+        List<WordCorpus.Entry> entries = new ArrayList<>();
+        int rank = 0;
+        for (String category : new String[]{"animals", "space", "food"}) {
+            for (int i = 0; i < 400; i++) {
+                entries.add(new WordCorpus.Entry(category, word(category, i), rank++));
+            }
+        }
+        Collections.shuffle(entries);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WordCorpusWriter.write(entries, bytes);
+        return new WordCorpusReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    // Distinct words of 3 to 10 letters per category
+    private static String word(String category, int number) {
+        StringBuilder word = new StringBuilder().append(Character.toUpperCase(category.charAt(0)));
+        int length = 3 + number % 8;
+        int value = number;
+        while (word.length() < length) {
+            word.append((char) ('A' + value % 26));
+            value /= 26;
+        }
+        return word.toString();
+    }
+}
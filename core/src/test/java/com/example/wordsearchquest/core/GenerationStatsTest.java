@@ -0,0 +1,82 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GenerationStatsTest {
+
+    private static final List<String> WORDS = Arrays.asList(
+        "GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE", "CELLO", "TRUMPET", "ACCORDION"
+    );
+
+    @Test
+    public void generateGrid_reportsStatsForTheCall() {
+        List<GenerationStats> reported = new ArrayList<>();
+        GenerationOptions options = new GenerationOptions().seed(1).statsListener(reported::add);
+
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(WORDS, 8, options);
+
+        assertEquals(1, reported.size());
+        GenerationStats stats = reported.get(0);
+        assertEquals(1, stats.attempts);
+        assertEquals(8, stats.words.size());
+        // ACCORDION is longer than the grid
+        assertEquals(Arrays.asList("ACCORDION"), stats.droppedWords);
+        assertEquals(WORDS.size() - 1, result.wordPlacements.size());
+        assertTrue(stats.probes >= stats.words.size());
+        assertTrue(stats.rejectedProbes < stats.probes);
+        assertTrue(stats.placeNanos > 0 && stats.fillNanos > 0);
+
+        long total = 0;
+        for (int w = 0; w < stats.words.size(); w++) {
+            total += stats.getProbes(w);
+            // The level only allows the forward directions
+            assertEquals(0, stats.getProbes(w, WordGridGenerator.Direction.HORIZONTAL_REVERSE));
+        }
+        assertEquals(stats.probes, total);
+    }
+
+    @Test
+    public void generateGrid_sameGridWhetherOrNotStatsAreCollected() {
+        WordGridGenerator.GridResult plain = WordGridGenerator.generateGrid(WORDS, 8, new GenerationOptions().seed(5));
+        WordGridGenerator.GridResult counted = WordGridGenerator.generateGrid(WORDS, 8,
+            new GenerationOptions().seed(5).statsListener(stats -> { }));
+
+        assertArrayEquals(plain.grid, counted.grid);
+    }
+
+    @Test
+    public void generateGridParallel_countsEveryFinishedAttempt() {
+        List<GenerationStats> reported = new ArrayList<>();
+        WordGridGenerator.generateGridParallel(WORDS, 10, new GenerationOptions().statsListener(reported::add));
+
+        assertEquals(1, reported.size());
+        assertTrue(reported.get(0).attempts >= 1);
+        assertTrue(reported.get(0).droppedWords.isEmpty());
+    }
+
+    @Test
+    public void processListener_aggregatesAcrossCalls() {
+        GenerationCounters counters = new GenerationCounters();
+        WordGridGenerator.setStatsListener(counters);
+        try {
+            for (long seed = 0; seed < 5; seed++) {
+                WordGridGenerator.generateGrid(WORDS, 8, new GenerationOptions().seed(seed));
+            }
+            // Marathon grids report through the same listener
+            WordGridGenerator.generateGrid(WORDS, 40, new GenerationOptions().seed(6));
+        } finally {
+            WordGridGenerator.setStatsListener(null);
+        }
+
+        assertEquals(6, counters.getGrids());
+        assertEquals(6, counters.getAttempts());
+        assertEquals(5, counters.getDroppedWords());
+        assertTrue(counters.getProbes() > 0);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GridScannerTest {
+
+    private static final List<String> WORDS = Arrays.asList("POP", "JAZZ", "DRUM", "HARP", "GUITAR", "MOONWALK");
+
+    @Test
+    public void automaton_findsOverlappingWordsBothWays() {
+        WordAutomaton automaton = new WordAutomaton(Arrays.asList("HE", "SHE", "HERS", "DOG"));
+
+        List<Integer> lengths = new ArrayList<>();
+        int state = 0;
+        for (char c : "USHERSGOD".toCharArray()) {
+            state = automaton.step(state, c);
+            int match = automaton.matchLength(state) > 0 ? state : automaton.matchLink(state);
+            for (; match >= 0; match = automaton.matchLink(match)) {
+                lengths.add(automaton.matchLength(match));
+            }
+        }
+
+        // SHE and HE end at the E, HERS at the S, and DOG read backwards at the final D
+        assertEquals(Arrays.asList(3, 2, 4, 3), lengths);
+    }
+
+    @Test
+    public void automaton_readsWordListIgnoringComments() throws IOException {
+        WordAutomaton automaton = WordAutomaton.read(new StringReader("# comment\n\nfoo\n  BAR \n"));
+
+        assertEquals(3, automaton.shortestWord());
+        assertFalse(automaton.isEmpty());
+        assertTrue(WordAutomaton.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void scanner_marksOnlyFillerCells() {
+        GridBoard board = new GridBoard(4);
+        board.write("POP", 0, WordGridGenerator.Direction.HORIZONTAL.ordinal());
+        // Filler spells POP again down the last column, reusing nothing from the placed copy
+        board.cells[3] = 'P';
+        board.cells[7] = 'O';
+        board.cells[11] = 'P';
+        fill(board, 'X');
+
+        boolean[] marked = new boolean[board.cells.length];
+        int marks = new GridScanner(new WordAutomaton(Arrays.asList("POP")), WordAutomaton.EMPTY)
+            .markOffending(board, marked);
+
+        assertEquals(3, marks);
+        assertTrue(marked[3] && marked[7] && marked[11]);
+        assertFalse(marked[0] || marked[1] || marked[2]);
+    }
+
+    @Test
+    public void scanner_findsBlockedWordsInEveryDirection() {
+        WordAutomaton blocklist = new WordAutomaton(Arrays.asList("BAD"));
+        for (WordGridGenerator.Direction direction : WordGridGenerator.Direction.values()) {
+            GridBoard board = new GridBoard(5);
+            fill(board, 'X');
+            int row = 2 - direction.dRow;
+            int col = 2 - direction.dCol;
+            for (char c : "BAD".toCharArray()) {
+                board.cells[row * 5 + col] = c;
+                row += direction.dRow;
+                col += direction.dCol;
+            }
+
+            boolean[] marked = new boolean[board.cells.length];
+            assertEquals(direction.name(), 3, new GridScanner(WordAutomaton.EMPTY, blocklist).markOffending(board, marked));
+        }
+    }
+
+    @Test
+    public void generateGrid_leavesEachWordOnceAndNoBlockedWords() {
+        // Each blocked word has a letter no target word uses, so it can never be spelled by placed letters alone
+        List<String> blocked = Arrays.asList("CAT", "FOG", "YAK");
+        WordAutomaton blocklist = new WordAutomaton(blocked);
+        for (long seed = 0; seed < 200; seed++) {
+            GenerationOptions options = new GenerationOptions()
+                .directions(WordGridGenerator.ALL_DIRECTIONS)
+                .blocklist(blocklist)
+                .seed(seed);
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(WORDS, 8, options);
+
+            for (String word : WORDS) {
+                assertEquals(word + " with seed " + seed, 1, countOccurrences(result.grid, word));
+            }
+            for (String word : blocked) {
+                assertEquals(word + " with seed " + seed, 0, countOccurrences(result.grid, word));
+            }
+        }
+    }
+
+    @Test
+    public void bundledBlocklist_isReadable() throws IOException {
+        WordAutomaton bundled;
+        try (Reader reader = new InputStreamReader(new FileInputStream(LevelAssets.file("blocklist.txt")),
+                StandardCharsets.UTF_8)) {
+            bundled = WordAutomaton.read(reader);
+        }
+
+        assertFalse(bundled.isEmpty());
+    }
+
+    private static void fill(GridBoard board, char letter) {
+        for (int i = 0; i < board.cells.length; i++) {
+            if (board.cells[i] == GridBoard.EMPTY) {
+                board.cells[i] = letter;
+            }
+        }
+    }
+
+    // Brute force reference: counts every start cell and direction that spells the word
+    private static int countOccurrences(char[][] grid, String word) {
+        int count = 0;
+        for (int row = 0; row < grid.length; row++) {
+            for (int col = 0; col < grid.length; col++) {
+                for (WordGridGenerator.Direction direction : WordGridGenerator.Direction.values()) {
+                    int r = row;
+                    int c = col;
+                    int i = 0;
+                    while (i < word.length() && r >= 0 && r < grid.length && c >= 0 && c < grid.length
+                            && grid[r][c] == word.charAt(i)) {
+                        r += direction.dRow;
+                        c += direction.dCol;
+                        i++;
+                    }
+                    if (i == word.length()) {
+                        count++;
+                    }
+                }
+            }
+        }
+        // Palindromes read the same both ways, so each copy is found twice
+        return new StringBuilder(word).reverse().toString().equals(word) ? count / 2 : count;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class GridSolverTest {
+
+    @Test
+    public void toGridResult_solvesTheHandcraftedLevel() {
+        LevelData level = LevelData.getLevel2();
+
+        WordGridGenerator.GridResult result = level.toGridResult();
+
+        assertTrue(result.complete);
+        assertEquals(level.words.size(), result.wordPlacements.size());
+        for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+            assertSpells(level.grid, placement);
+        }
+    }
+
+    @Test
+    public void solve_findsEveryGeneratedPlacement() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE", "CELLO");
+        GenerationOptions options = new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS);
+
+        for (long seed = 0; seed < 20; seed++) {
+            WordGridGenerator.GridResult generated = WordGridGenerator.generateGrid(words, 9, options.seed(seed));
+            Set<String> solved = new HashSet<>();
+            for (WordGridGenerator.WordPlacement placement : GridSolver.solve(generated.grid, words)) {
+                assertSpells(generated.grid, placement);
+                solved.add(key(placement));
+            }
+            for (WordGridGenerator.WordPlacement placement : generated.wordPlacements) {
+                assertTrue(solved.contains(key(placement)));
+            }
+        }
+    }
+
+    @Test
+    public void solve_reportsWordsThatAreEachOthersReverse() {
+        char[][] grid = {"XDOGX".toCharArray()};
+
+        List<WordGridGenerator.WordPlacement> placements = GridSolver.solve(grid, Arrays.asList("god", "DOG"));
+
+        assertEquals(2, placements.size());
+        Set<String> keys = new HashSet<>();
+        for (WordGridGenerator.WordPlacement placement : placements) {
+            keys.add(key(placement));
+        }
+        assertTrue(keys.contains("DOG 0,1 HORIZONTAL"));
+        assertTrue(keys.contains("GOD 0,3 HORIZONTAL_REVERSE"));
+    }
+
+    @Test
+    public void solve_matchesBruteForceOnRectangularGrid() {
+        SplittableRandom random = new SplittableRandom(3);
+        char[][] grid = randomGrid(random, 23, 31, 6);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            words.add(randomWord(random, 2 + random.nextInt(3), 6));
+        }
+
+        List<WordGridGenerator.WordPlacement> placements = GridSolver.solve(grid, words);
+
+        Set<String> solved = new HashSet<>();
+        for (WordGridGenerator.WordPlacement placement : placements) {
+            assertSpells(grid, placement);
+            assertTrue(solved.add(key(placement)));
+        }
+        assertEquals(bruteForce(grid, new HashSet<>(words)), solved);
+    }
+
+    private static char[][] randomGrid(SplittableRandom random, int rows, int cols, int letters) {
+        char[][] grid = new char[rows][cols];
+        for (char[] row : grid) {
+            for (int col = 0; col < cols; col++) {
+                row[col] = (char) ('A' + random.nextInt(letters));
+            }
+        }
+        return grid;
+    }
+
+    private static String randomWord(SplittableRandom random, int length, int letters) {
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = (char) ('A' + random.nextInt(letters));
+        }
+        return new String(word);
+    }
+
+    private static Set<String> bruteForce(char[][] grid, Set<String> words) {
+        Set<String> found = new HashSet<>();
+        for (String word : words) {
+            boolean palindrome = new StringBuilder(word).reverse().toString().equals(word);
+            for (int row = 0; row < grid.length; row++) {
+                for (int col = 0; col < grid[row].length; col++) {
+                    for (WordGridGenerator.Direction direction : WordGridGenerator.Direction.values()) {
+                        // A palindrome is reported once, along its axis
+                        if (palindrome && direction.ordinal() >= 4) continue;
+                        if (word.length() == 1 && direction != WordGridGenerator.Direction.HORIZONTAL) continue;
+                        if (spells(grid, word, row, col, direction)) {
+                            found.add(word + " " + row + "," + col + " " + direction);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean spells(char[][] grid, String word, int row, int col, WordGridGenerator.Direction direction) {
+        for (int i = 0; i < word.length(); i++) {
+            int r = row + i * direction.dRow;
+            int c = col + i * direction.dCol;
+            if (r < 0 || r >= grid.length || c < 0 || c >= grid[r].length || grid[r][c] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void assertSpells(char[][] grid, WordGridGenerator.WordPlacement placement) {
+        assertTrue(spells(grid, placement.word, placement.startRow, placement.startCol, placement.direction));
+        assertEquals(placement.endRow, placement.startRow + (placement.word.length() - 1) * placement.direction.dRow);
+        assertEquals(placement.endCol, placement.startCol + (placement.word.length() - 1) * placement.direction.dCol);
+    }
+
+    private static String key(WordGridGenerator.WordPlacement placement) {
+        return placement.word + " " + placement.startRow + "," + placement.startCol + " " + placement.direction;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class LetterDistributionTest {
+
+    @Test
+    public void sample_followsTheWeights() {
+        double[] weights = new double[26];
+        weights[0] = 1;
+        weights[4] = 3;
+        weights[25] = 6;
+        LetterDistribution distribution = new LetterDistribution(weights);
+
+        int[] counts = new int[26];
+        SplittableRandom random = new SplittableRandom(1);
+        int samples = 200_000;
+        for (int i = 0; i < samples; i++) {
+            counts[distribution.sample(random) - 'A']++;
+        }
+
+        assertEquals(0.1, counts[0] / (double) samples, 0.01);
+        assertEquals(0.3, counts[4] / (double) samples, 0.01);
+        assertEquals(0.6, counts[25] / (double) samples, 0.01);
+        assertEquals(samples, counts[0] + counts[4] + counts[25]);
+    }
+
+    @Test
+    public void uniform_drawsLikeThePlainGenerator() {
+        SplittableRandom expected = new SplittableRandom(9);
+        SplittableRandom actual = new SplittableRandom(9);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((char) ('A' + expected.nextInt(26)), LetterDistribution.UNIFORM.sample(actual));
+        }
+    }
+
+    @Test
+    public void fromWords_favoursTheWordsLettersButKeepsTheRest() {
+        List<String> words = Arrays.asList("BANANA", "ANANAS");
+        LetterDistribution distribution = LetterDistribution.fromWords(words);
+
+        int[] counts = new int[26];
+        SplittableRandom random = new SplittableRandom(2);
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random) - 'A']++;
+        }
+
+        assertTrue(counts['A' - 'A'] > counts['N' - 'A']);
+        assertTrue(counts['N' - 'A'] > counts['B' - 'A']);
+        assertTrue(counts['Q' - 'A'] > 0);
+    }
+
+    @Test
+    public void sample_allocatesNothing() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        SplittableRandom random = new SplittableRandom(3);
+        char sink = 0;
+        for (int i = 0; i < 100_000; i++) {
+            sink ^= LetterDistribution.ENGLISH.sample(random);
+        }
+
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < 100_000; i++) {
+            sink ^= LetterDistribution.ENGLISH.sample(random);
+        }
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        assertTrue("Allocated " + allocated + " bytes (" + (int) sink + ")", allocated < 1024);
+    }
+
+    @Test
+    public void levelJsonReader_resolvesFiller() throws IOException {
+        String json = "{\"levels\": [{\"level\": 1, \"difficulty\": \"Easy\", \"gridSize\": 6, \"timeLimit\": 90,"
+            + " \"filler\": \"english\", \"words\": [\"ABC\"]}]}";
+
+        LevelDefinition level = new LevelJsonReader(new StringReader(json)).readAll().get(0);
+
+        assertSame(LetterDistribution.ENGLISH, level.filler);
+    }
+
+    @Test(expected = IOException.class)
+    public void levelJsonReader_rejectsUnknownFiller() throws IOException {
+        String json = "{\"levels\": [{\"level\": 1, \"difficulty\": \"Easy\", \"gridSize\": 6, \"timeLimit\": 90,"
+            + " \"filler\": \"klingon\", \"words\": [\"ABC\"]}]}";
+
+        new LevelJsonReader(new StringReader(json)).readAll();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.wordsearchquest.core;
+
+import java.io.File;
+
+// Level files and the blocklist ship as app assets; the build passes their directory in levels.dir
+final class LevelAssets {
+
+    private LevelAssets() {
+    }
+
+    static File directory() {
+        return new File(System.getProperty("levels.dir", "../app/src/main/assets"));
+    }
+
+    static File file(String name) {
+        return new File(directory(), name);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LevelJsonReaderTest {
+
+    private static String level(int number) {
+        return "{\"level\": " + number + ", \"difficulty\": \"Easy\", \"gridSize\": 8, \"timeLimit\": 120,"
+            + " \"words\": [\"CAT\", \"DOG\", \"B\\\"IRD\"]}";
+    }
+
+    @Test
+    public void next_pullsTheSameLevelsAsReadAll() throws IOException {
+        List<LevelDefinition> pulled = new ArrayList<>();
+        try (Reader reader = open("words_medium.json")) {
+            LevelJsonReader levels = new LevelJsonReader(reader);
+            LevelDefinition level;
+            while ((level = levels.next()) != null) {
+                pulled.add(level);
+            }
+            assertNull(levels.next());
+        }
+
+        List<LevelDefinition> all;
+        try (Reader reader = open("words_medium.json")) {
+            all = new LevelJsonReader(reader).readAll();
+        }
+        assertEquals(all.size(), pulled.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).level, pulled.get(i).level);
+            assertEquals(all.get(i).words, pulled.get(i).words);
+        }
+    }
+
+    @Test
+    public void find_stopsRightAfterTheLevel() throws IOException {
+        // Anything after the level found is never read, so it may as well be broken
+        String json = "{\"levels\": [" + level(1) + ", " + level(2) + ", {\"level\": oops";
+
+        LevelDefinition level = new LevelJsonReader(new StringReader(json)).find(2);
+
+        assertEquals(2, level.level);
+        assertEquals("B\"IRD", level.words.get(2));
+    }
+
+    @Test
+    public void find_skipsOtherLevelsWithoutBuildingThem() throws IOException {
+        // A skipped level is not validated, so one missing its required fields does not matter
+        String json = "{\"levels\": [{\"level\": 1, \"theme\": {\"tags\": [\"x\", 1]}}, " + level(2) + "]}";
+
+        assertEquals(2, new LevelJsonReader(new StringReader(json)).find(2).level);
+    }
+
+    @Test
+    public void find_continuesFromTheLastLevel() throws IOException {
+        String json = "{\"levels\": [" + level(1) + ", " + level(2) + ", " + level(3) + "], \"version\": 2}";
+        LevelJsonReader levels = new LevelJsonReader(new StringReader(json));
+
+        assertEquals(2, levels.find(2).level);
+        assertEquals(3, levels.next().level);
+        assertNull(levels.find(1));
+    }
+
+    @Test
+    public void find_unknownLevelIsNull() throws IOException {
+        try (Reader reader = open("words_hard.json")) {
+            assertNull(new LevelJsonReader(reader).find(999));
+        }
+        assertNull(new LevelJsonReader(new StringReader("{\"levels\": []}")).find(1));
+        assertNull(new LevelJsonReader(new StringReader("{\"version\": 2}")).find(1));
+    }
+
+    @Test
+    public void find_handlesLargePacks() throws IOException {
+        StringBuilder json = new StringBuilder("{\"levels\": [");
+        for (int i = 1; i <= 20000; i++) {
+            json.append(i > 1 ? ", " : "").append(level(i));
+        }
+        json.append("]}");
+
+        LevelDefinition level = new LevelJsonReader(new StringReader(json.toString())).find(19999);
+
+        assertEquals(19999, level.level);
+        assertEquals(3, level.words.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void find_reportsBrokenLevelsOnTheWay() throws IOException {
+        String json = "{\"levels\": [{\"level\": 1, \"words\": [\"CAT\"], " + level(2) + "]}";
+        new LevelJsonReader(new StringReader(json)).find(2);
+    }
+
+    @Test
+    public void next_rejectsMalformedUnicodeEscapes() throws IOException {
+        String json = "{\"levels\": [{\"level\": 7, \"difficulty\": \"Easy\", \"gridSize\": 8, \"timeLimit\": 120,"
+            + " \"words\": [\"CAT\", \"D\\uZZZZG\"]}]}";
+        try {
+            new LevelJsonReader(new StringReader(json)).next();
+            fail("Expected a parse error");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Invalid \\u escape in level 7"));
+        }
+    }
+
+    private static Reader open(String fileName) throws IOException {
+        return new InputStreamReader(new FileInputStream(LevelAssets.file(fileName)), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class LevelPackTest {
+
+    @Test
+    public void pack_roundTripsEveryBundledLevel() throws IOException {
+        List<LevelDefinition> levels = new ArrayList<>(LevelPackWriter.readLevelFiles(LevelAssets.directory()));
+        // A word-based filler, which is stored as its sampling table
+        levels.add(new LevelDefinition(21, "Expert", 12, 60, Arrays.asList("QUIZ", "JAZZ"),
+            WordGridGenerator.ALL_DIRECTIONS, LetterDistribution.fromWords(Arrays.asList("QUIZ", "JAZZ"))));
+
+        File file = File.createTempFile("levels", ".pack");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            // Leading junk stands in for the rest of an APK around an uncompressed asset
+            out.write(new byte[5]);
+            LevelPackWriter.write(levels, out);
+        }
+
+        try (FileInputStream in = new FileInputStream(file)) {
+            LevelPackReader reader = new LevelPackReader(in.getChannel(), 5);
+
+            assertEquals(levels.size(), reader.getLevelCount());
+            // Looked up out of order, as a level select screen might
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                LevelDefinition expected = levels.get(i);
+                LevelDefinition actual = reader.read(expected.level);
+
+                assertEquals(expected.level, actual.level);
+                assertEquals(expected.difficulty, actual.difficulty);
+                assertEquals(expected.gridSize, actual.gridSize);
+                assertEquals(expected.timeLimit, actual.timeLimit);
+                assertEquals(expected.words, actual.words);
+                assertEquals(expected.directions, actual.directions);
+                assertSameSamples(expected.filler, actual.filler);
+            }
+            assertNull(reader.read(0));
+            assertNull(reader.read(999));
+        }
+    }
+
+    @Test
+    public void pack_sortsLevelsByNumber() throws IOException {
+        List<LevelDefinition> levels = Arrays.asList(level(30), level(2), level(17));
+
+        LevelPackReader reader = readBack(levels);
+
+        assertArrayEquals(new int[]{2, 17, 30}, reader.getLevels());
+        assertEquals(17, reader.read(17).level);
+    }
+
+    @Test(expected = IOException.class)
+    public void writer_rejectsDuplicateLevels() throws IOException {
+        LevelPackWriter.write(Arrays.asList(level(1), level(2), level(1)), new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void readLevelFiles_readsEveryLevelFileInTheDirectory() throws IOException {
+        File directory = Files.createTempDirectory("levels").toFile();
+        directory.deleteOnExit();
+        writeLevels(new File(directory, "words_hard.json"), 3);
+        writeLevels(new File(directory, "words_bonus.json"), 1, 2);
+        // Not a level file, so never parsed
+        writeText(new File(directory, "settings.json"), "{");
+
+        List<LevelDefinition> levels = LevelPackWriter.readLevelFiles(directory);
+
+        assertEquals(3, levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            assertEquals(i + 1, levels.get(i).level);
+        }
+    }
+
+    @Test
+    public void checkNumbering_acceptsLevelsInAnyOrder() throws IOException {
+        LevelPackWriter.checkNumbering(Arrays.asList(level(3), level(1), level(2)));
+    }
+
+    @Test(expected = IOException.class)
+    public void checkNumbering_rejectsGaps() throws IOException {
+        LevelPackWriter.checkNumbering(Arrays.asList(level(1), level(2), level(4)));
+    }
+
+    @Test(expected = IOException.class)
+    public void writer_rejectsLevelsWithoutWords() throws IOException {
+        LevelDefinition empty = new LevelDefinition(1, "Easy", 8, 120, new ArrayList<>(),
+            WordGridGenerator.FORWARD_DIRECTIONS, LetterDistribution.UNIFORM);
+        LevelPackWriter.write(Arrays.asList(empty), new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void writer_rejectsWordsLongerThanTheGrid() {
+        LevelDefinition level = new LevelDefinition(7, "Hard", 6, 120, Arrays.asList("CAT", "ELEPHANT"),
+            WordGridGenerator.FORWARD_DIRECTIONS, LetterDistribution.UNIFORM);
+        assertWriteFails(level, "Level 7: ELEPHANT is longer than the 6x6 grid");
+    }
+
+    @Test
+    public void writer_rejectsLettersOutsideAToZ() {
+        LevelDefinition level = new LevelDefinition(3, "Easy", 8, 120, Arrays.asList("CAT", "CAF\u00c9"),
+            WordGridGenerator.FORWARD_DIRECTIONS, LetterDistribution.UNIFORM);
+        assertWriteFails(level, "Level 3: CAF\u00c9 has letters outside A-Z");
+    }
+
+    @Test(expected = IOException.class)
+    public void reader_rejectsOtherFiles() throws IOException {
+        File file = File.createTempFile("levels", ".pack");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            PuzzlePackWriter.write(new ArrayList<>(), out);
+        }
+        try (FileInputStream in = new FileInputStream(file)) {
+            new LevelPackReader(in.getChannel(), 0);
+        }
+    }
+
+    private static void writeLevels(File file, int... numbers) throws IOException {
+        StringBuilder json = new StringBuilder("{\"levels\": [");
+        for (int i = 0; i < numbers.length; i++) {
+            json.append(i > 0 ? ", " : "").append("{\"level\": ").append(numbers[i])
+                .append(", \"difficulty\": \"Easy\", \"gridSize\": 8, \"timeLimit\": 120, \"words\": [\"CAT\"]}");
+        }
+        writeText(file, json.append("]}").toString());
+    }
+
+    private static void writeText(File file, String text) throws IOException {
+        file.deleteOnExit();
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LevelDefinition level(int number) {
+        return new LevelDefinition(number, "Easy", 8, 120, Arrays.asList("CAT", "DOG"),
+            WordGridGenerator.FORWARD_DIRECTIONS, LetterDistribution.ENGLISH);
+    }
+
+    private static LevelPackReader readBack(List<LevelDefinition> levels) throws IOException {
+        File file = File.createTempFile("levels", ".pack");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            LevelPackWriter.write(levels, out);
+        }
+        // The channel stays open for the reader; the temp file goes away with the JVM
+        return new LevelPackReader(new FileInputStream(file).getChannel(), 0);
+    }
+
+    private static void assertSameSamples(LetterDistribution expected, LetterDistribution actual) {
+        SplittableRandom first = new SplittableRandom(11);
+        SplittableRandom second = new SplittableRandom(11);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(expected.sample(first), actual.sample(second));
+        }
+    }
+
+    private static void assertWriteFails(LevelDefinition level, String message) {
+        try {
+            LevelPackWriter.write(Arrays.asList(level), new ByteArrayOutputStream());
+            fail("Expected " + message);
+        } catch (IOException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class MarathonGeneratorTest {
+
+    @Test
+    public void generate_placesEveryWordOnFiftyByFifty() {
+        List<String> words = randomWords(150, 4, 10, 1);
+
+        for (long seed = 0; seed < 20; seed++) {
+            GenerationOptions options = new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS).seed(seed);
+            MarathonGrid grid = MarathonGenerator.generate(words, 50, options);
+
+            assertEquals(words.size(), grid.getPlacementCount());
+            assertPlacementsMatchGrid(grid);
+        }
+    }
+
+    @Test
+    public void generate_usesOnlyAllowedDirections() {
+        MarathonGrid grid = MarathonGenerator.generate(randomWords(200, 3, 8, 2), 60, new GenerationOptions().seed(3));
+
+        for (int i = 0; i < grid.getPlacementCount(); i++) {
+            assertTrue(WordGridGenerator.FORWARD_DIRECTIONS.contains(grid.getPlacement(i).direction));
+        }
+        assertPlacementsMatchGrid(grid);
+    }
+
+    @Test
+    public void generate_isDeterministicForASeed() {
+        List<String> words = randomWords(300, 4, 12, 4);
+        GenerationOptions options = new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS).seed(99);
+
+        MarathonGrid first = MarathonGenerator.generate(words, 80, options);
+        MarathonGrid second = MarathonGenerator.generate(words, 80, options);
+
+        assertArrayEquals(first.toGridResult().grid, second.toGridResult().grid);
+    }
+
+    @Test
+    public void generateGrid_switchesToMarathonForLargeGrids() {
+        List<String> words = randomWords(150, 4, 10, 5);
+
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 50, new GenerationOptions().seed(6));
+
+        assertEquals(50, result.grid.length);
+        assertEquals(words.size(), result.wordPlacements.size());
+    }
+
+    @Test
+    public void generate_wordLongerThanGridIsNotComplete() {
+        List<String> words = new ArrayList<>(randomWords(20, 4, 10, 7));
+        words.add("ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+        MarathonGrid grid = MarathonGenerator.generate(words, 50, new GenerationOptions().seed(7));
+
+        assertEquals(words.size() - 1, grid.getPlacementCount());
+        assertFalse(grid.isComplete());
+        assertFalse(grid.toGridResult().complete);
+    }
+
+    @Test
+    public void generate_keepsBlockedWordsOutOfTheFiller() {
+        List<String> words = randomWords(200, 4, 10, 11);
+        List<String> blocked = Arrays.asList("CAT", "DOG", "YAK", "FOG", "SUN", "BAT");
+
+        for (long seed = 0; seed < 10; seed++) {
+            GenerationOptions options = new GenerationOptions()
+                .directions(WordGridGenerator.ALL_DIRECTIONS)
+                .blocklist(new WordAutomaton(blocked))
+                .seed(seed);
+            MarathonGrid grid = MarathonGenerator.generate(words, 60, options);
+
+            boolean[] placed = placedCells(grid);
+            for (int row = 0; row < grid.size; row++) {
+                for (int col = 0; col < grid.size; col++) {
+                    for (WordGridGenerator.Direction direction : WordGridGenerator.Direction.values()) {
+                        for (String word : blocked) {
+                            // Only a match made entirely of placed letters may remain
+                            assertFalse(word + " with seed " + seed,
+                                spellsWithFiller(grid, placed, word, row, col, direction));
+                        }
+                    }
+                }
+            }
+            assertPlacementsMatchGrid(grid);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void generate_rejectsGridsOverTheMemoryBudget() {
+        MarathonGenerator.generate(randomWords(10, 4, 8, 7), 500, new GenerationOptions().memoryBudget(100_000));
+    }
+
+    @Test
+    public void generate_placesEveryWordOnFiveHundredByFiveHundred() {
+        List<String> words = randomWords(3000, 4, 12, 9);
+        GenerationOptions options = new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS).seed(10);
+
+        MarathonGrid grid = MarathonGenerator.generate(words, 500, options);
+
+        assertEquals(words.size(), grid.getPlacementCount());
+        assertPlacementsMatchGrid(grid);
+    }
+
+    private static List<String> randomWords(int count, int minLength, int maxLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            char[] word = new char[minLength + random.nextInt(maxLength - minLength + 1)];
+            for (int j = 0; j < word.length; j++) {
+                word[j] = (char) ('A' + random.nextInt(26));
+            }
+            words.add(new String(word));
+        }
+        return words;
+    }
+
+    private static boolean[] placedCells(MarathonGrid grid) {
+        boolean[] placed = new boolean[grid.size * grid.size];
+        for (int i = 0; i < grid.getPlacementCount(); i++) {
+            WordGridGenerator.WordPlacement placement = grid.getPlacement(i);
+            for (int j = 0; j < placement.word.length(); j++) {
+                placed[(placement.startRow + j * placement.direction.dRow) * grid.size
+                    + placement.startCol + j * placement.direction.dCol] = true;
+            }
+        }
+        return placed;
+    }
+
+    private static boolean spellsWithFiller(MarathonGrid grid, boolean[] placed, String word, int row, int col,
+                                            WordGridGenerator.Direction direction) {
+        boolean filler = false;
+        for (int i = 0; i < word.length(); i++) {
+            int r = row + i * direction.dRow;
+            int c = col + i * direction.dCol;
+            if (r < 0 || r >= grid.size || c < 0 || c >= grid.size || grid.letterAt(r, c) != word.charAt(i)) {
+                return false;
+            }
+            filler |= !placed[r * grid.size + c];
+        }
+        return filler;
+    }
+
+    private static void assertPlacementsMatchGrid(MarathonGrid grid) {
+        boolean[] used = new boolean[grid.size * grid.size];
+        for (int i = 0; i < grid.getPlacementCount(); i++) {
+            WordGridGenerator.WordPlacement placement = grid.getPlacement(i);
+            for (int j = 0; j < placement.word.length(); j++) {
+                int row = placement.startRow + j * placement.direction.dRow;
+                int col = placement.startCol + j * placement.direction.dCol;
+                assertEquals(placement.word.charAt(j), grid.letterAt(row, col));
+                // Marathon placements never share cells
+                assertFalse(used[row * grid.size + col]);
+                used[row * grid.size + col] = true;
+            }
+            assertEquals(placement.endRow, placement.startRow + (placement.word.length() - 1) * placement.direction.dRow);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class ProgressStoreTest {
+
+    @Test
+    public void markCompleted_keepsBestScoresAndARunningTotal() {
+        ProgressStore store = new ProgressStore();
+
+        store.markCompleted(1, 300);
+        store.markCompleted(2, 500);
+        store.markCompleted(1, 200);
+        store.markCompleted(1, 450);
+
+        assertTrue(store.isCompleted(1));
+        assertTrue(store.isCompleted(2));
+        assertFalse(store.isCompleted(3));
+        assertFalse(store.isCompleted(5000));
+        assertEquals(450, store.getBestScore(1));
+        assertEquals(0, store.getBestScore(3));
+        assertEquals(950, store.getTotalScore());
+    }
+
+    @Test
+    public void unlock_onlyMovesForward() {
+        ProgressStore store = new ProgressStore();
+        assertEquals(1, store.getUnlockedLevel());
+
+        store.unlock(4);
+        store.unlock(2);
+
+        assertEquals(4, store.getUnlockedLevel());
+    }
+
+    @Test
+    public void write_roundTripsEverything() throws IOException {
+        ProgressStore store = new ProgressStore();
+        store.markCompleted(1, 120);
+        store.markCompleted(64, 80);
+        store.markCompleted(65, 0);
+        store.unlock(66);
+        store.markEndlessCompleted(6, 900);
+        store.setEndlessSeed(-42L);
+
+        ProgressStore read = roundTrip(store);
+
+        assertTrue(read.isCompleted(1));
+        assertTrue(read.isCompleted(64));
+        assertTrue(read.isCompleted(65));
+        assertFalse(read.isCompleted(2));
+        assertEquals(80, read.getBestScore(64));
+        assertEquals(200, read.getTotalScore());
+        assertEquals(66, read.getUnlockedLevel());
+        assertEquals(7, read.getEndlessLevel());
+        assertEquals(900, read.getEndlessBestScore());
+        assertTrue(read.hasEndlessSeed());
+        assertEquals(-42L, read.getEndlessSeed());
+    }
+
+    @Test
+    public void write_staysCompactForThousandsOfLevels() throws IOException {
+        ProgressStore store = new ProgressStore();
+        for (int level = 1; level <= 10_000; level++) {
+            store.markCompleted(level, level % 500);
+            store.unlock(level + 1);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.write(out);
+
+        // A bit and a score per level on top of the header
+        assertEquals(33 + 157 * 8 + 10_000 * 4, out.size());
+        ProgressStore read = ProgressStore.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(store.getTotalScore(), read.getTotalScore());
+        assertEquals(9_999 % 500, read.getBestScore(9_999));
+    }
+
+    @Test
+    public void snapshotIfChanged_coalescesUpdates() {
+        ProgressStore store = new ProgressStore();
+        assertNull(store.snapshotIfChanged());
+
+        store.markCompleted(3, 10);
+        store.unlock(4);
+        assertNotNull(store.snapshotIfChanged());
+        assertNull(store.snapshotIfChanged());
+
+        // Nothing new: a lower score on a completed level and an older unlock
+        store.markCompleted(3, 5);
+        store.unlock(2);
+        assertNull(store.snapshotIfChanged());
+    }
+
+    @Test
+    public void reset_forgetsEverything() throws IOException {
+        ProgressStore store = new ProgressStore();
+        store.markCompleted(9, 100);
+        store.markEndlessCompleted(3, 50);
+        store.setEndlessSeed(1L);
+
+        store.reset();
+        ProgressStore read = roundTrip(store);
+
+        assertFalse(read.isCompleted(9));
+        assertEquals(0, read.getTotalScore());
+        assertEquals(1, read.getUnlockedLevel());
+        assertEquals(1, read.getEndlessLevel());
+        assertFalse(read.hasEndlessSeed());
+    }
+
+    @Test
+    public void snapshot_isNotAffectedByLaterUpdates() {
+        ProgressStore store = new ProgressStore();
+        store.markCompleted(1, 10);
+        store.unlock(2);
+
+        ProgressStore.Snapshot snapshot = store.snapshot();
+        store.markCompleted(2, 20);
+        store.unlock(3);
+
+        assertTrue(snapshot.isCompleted(1));
+        assertFalse(snapshot.isCompleted(2));
+        assertFalse(snapshot.isCompleted(500));
+        assertTrue(snapshot.isUnlocked(2));
+        assertFalse(snapshot.isUnlocked(3));
+    }
+
+    @Test
+    public void changedLevels_findsNewCompletionsAndUnlocks() {
+        ProgressStore store = new ProgressStore();
+        for (int level = 1; level <= 70; level++) {
+            store.markCompleted(level, 1);
+        }
+        store.unlock(71);
+        ProgressStore.Snapshot before = store.snapshot();
+
+        store.markCompleted(71, 5);
+        store.markCompleted(3, 99);
+        store.unlock(73);
+        store.markCompleted(9_000, 1);
+        ProgressStore.Snapshot after = store.snapshot();
+
+        // Level 3 only got a better score, which the list does not show
+        assertArrayEquals(new int[]{71, 72, 73, 9_000}, after.changedLevels(before, 10_000));
+        assertArrayEquals(new int[]{71, 72, 73}, after.changedLevels(before, 100));
+        assertArrayEquals(new int[]{71, 72, 73, 9_000}, before.changedLevels(after, 10_000));
+        assertEquals(0, after.changedLevels(store.snapshot(), 10_000).length);
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherFiles() throws IOException {
+        ProgressStore.read(new ByteArrayInputStream(new byte[]{'W', 'S', 'Q', 'D', 0, 0, 0, 1}));
+    }
+
+    @Test
+    public void read_rejectsLevelCountsPastTheCap() throws IOException {
+        for (int levelCount : new int[]{Integer.MAX_VALUE, ProgressStore.MAX_LEVELS + 1, -1}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new ProgressStore().write(out);
+            // The count is the last header field; a corrupt one must not size an allocation
+            byte[] bytes = out.toByteArray();
+            ByteBuffer.wrap(bytes).putInt(bytes.length - 4, levelCount);
+            try {
+                ProgressStore.read(new ByteArrayInputStream(bytes));
+                fail("Accepted " + levelCount + " levels");
+            } catch (IOException expected) {
+                // The caller starts over
+            }
+        }
+    }
+
+    private static ProgressStore roundTrip(ProgressStore store) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        store.write(out);
+        return ProgressStore.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
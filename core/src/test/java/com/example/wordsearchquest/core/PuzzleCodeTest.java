@@ -0,0 +1,105 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class PuzzleCodeTest {
+
+    private static final List<String> WORDS = Arrays.asList("GUITAR", "POP", "JAZZ", "DRUM", "HARP", "MOONWALK");
+
+    @Test
+    public void encode_roundTrips() {
+        PuzzleCode code = new PuzzleCode(17, 12, 0x8000_0000_1234_5678L);
+
+        PuzzleCode decoded = PuzzleCode.decode(code.encode());
+
+        assertEquals(17, decoded.level);
+        assertEquals(12, decoded.gridSize);
+        assertEquals(0x8000_0000_1234_5678L, decoded.seed);
+    }
+
+    @Test
+    public void decode_acceptsLowerCaseAndLookalikes() {
+        String code = new PuzzleCode(3, 7, 10L).encode();
+
+        String typed = code.toLowerCase().replace('0', 'o').replace('1', 'l');
+
+        assertEquals(10L, PuzzleCode.decode(typed).seed);
+    }
+
+    @Test
+    public void decode_rejectsEveryMistypedSymbol() {
+        for (long seed : new long[] {10L, -1L, 0x0123_4567_89AB_CDEFL}) {
+            String code = new PuzzleCode(3, 7, seed).encode();
+            for (int i = 0; i < code.length(); i++) {
+                for (char typo : PuzzleCode.ALPHABET.toCharArray()) {
+                    if (typo != code.charAt(i)) {
+                        char[] typed = code.toCharArray();
+                        typed[i] = typo;
+                        assertRejected(new String(typed));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decode_rejectsEverySwappedPair() {
+        for (long seed : new long[] {10L, -1L, 0x0123_4567_89AB_CDEFL}) {
+            String code = new PuzzleCode(3, 7, seed).encode();
+            for (int i = 0; i + 1 < code.length(); i++) {
+                if (code.charAt(i) != code.charAt(i + 1)) {
+                    char[] typed = code.toCharArray();
+                    typed[i] = code.charAt(i + 1);
+                    typed[i + 1] = code.charAt(i);
+                    assertRejected(new String(typed));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void decode_ignoresDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            // Encodes as a run of 1s, typed here as a lower case i
+            String typed = new PuzzleCode(3, 7, 0x0108_4210_8421_0842L).encode().replace('1', 'i');
+
+            assertEquals(0x0108_4210_8421_0842L, PuzzleCode.decode(typed).seed);
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    public void rebuild_isDeterministic() {
+        PuzzleCode code = new PuzzleCode(1, 8, 42L);
+
+        PuzzleCode decoded = PuzzleCode.decode(code.encode());
+
+        WordGridGenerator.GridResult first = code.rebuild(WORDS, new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS));
+        WordGridGenerator.GridResult second = decoded.rebuild(WORDS, new GenerationOptions().directions(WordGridGenerator.ALL_DIRECTIONS));
+
+        assertArrayEquals(first.grid, second.grid);
+        assertEquals(first.wordPlacements.size(), second.wordPlacements.size());
+        for (int i = 0; i < first.wordPlacements.size(); i++) {
+            assertEquals(first.wordPlacements.get(i).startRow, second.wordPlacements.get(i).startRow);
+            assertEquals(first.wordPlacements.get(i).startCol, second.wordPlacements.get(i).startCol);
+            assertEquals(first.wordPlacements.get(i).direction, second.wordPlacements.get(i).direction);
+        }
+    }
+
+    private static void assertRejected(String code) {
+        try {
+            PuzzleCode.decode(code);
+            fail("Accepted " + code);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
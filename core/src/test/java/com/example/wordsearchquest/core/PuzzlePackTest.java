@@ -0,0 +1,95 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PuzzlePackTest {
+
+    @Test
+    public void levelJsonReader_readsBundledLevels() throws IOException {
+        List<LevelDefinition> levels = readLevels("words_easy.json");
+
+        assertEquals(5, levels.size());
+        assertEquals(1, levels.get(0).level);
+        assertEquals("Easy", levels.get(0).difficulty);
+        assertEquals(8, levels.get(0).gridSize);
+        assertEquals(120, levels.get(0).timeLimit);
+        assertEquals("MOONWALK", levels.get(0).words.get(5));
+    }
+
+    @Test
+    public void levelJsonReader_skipsUnknownFields() throws IOException {
+        String json = "{\"version\": 2, \"levels\": [{\"level\": 3, \"theme\": {\"name\": \"x\", \"tags\": [1, true, null]},"
+            + " \"difficulty\": \"Easy\", \"gridSize\": 6, \"timeLimit\": 90, \"words\": [\"A\\u0042C\"]}]}";
+
+        List<LevelDefinition> levels = new LevelJsonReader(new StringReader(json)).readAll();
+
+        assertEquals(1, levels.size());
+        assertEquals("ABC", levels.get(0).words.get(0));
+    }
+
+    @Test(expected = IOException.class)
+    public void levelJsonReader_rejectsMissingFields() throws IOException {
+        new LevelJsonReader(new StringReader("{\"levels\": [{\"level\": 1, \"words\": []}]}")).readAll();
+    }
+
+    @Test
+    public void pack_roundTripsEveryPuzzle() throws IOException {
+        List<LevelDefinition> levels = readLevels("words_medium.json");
+        List<PuzzlePack.Puzzle> puzzles = PuzzlePackWriter.generate(levels, 3, 99L);
+
+        File file = File.createTempFile("puzzles", ".pack");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            // Leading junk stands in for the rest of an APK around an uncompressed asset
+            out.write(new byte[7]);
+            PuzzlePackWriter.write(puzzles, out);
+        }
+
+        try (FileInputStream in = new FileInputStream(file)) {
+            FileChannel channel = in.getChannel();
+            PuzzlePackReader reader = new PuzzlePackReader(channel, 7);
+
+            assertEquals(15, reader.getPuzzleCount());
+            assertEquals(3, reader.getPuzzleCount(8));
+            for (int i = 0; i < puzzles.size(); i++) {
+                PuzzlePack.Puzzle expected = puzzles.get(i);
+                PuzzlePack.Puzzle actual = reader.readPuzzle(i);
+
+                assertEquals(expected.level, actual.level);
+                assertEquals(expected.seed, actual.seed);
+                assertArrayEquals(expected.gridResult.grid, actual.gridResult.grid);
+                assertEquals(expected.gridResult.wordPlacements.size(), actual.gridResult.wordPlacements.size());
+                for (int p = 0; p < actual.gridResult.wordPlacements.size(); p++) {
+                    WordGridGenerator.WordPlacement e = expected.gridResult.wordPlacements.get(p);
+                    WordGridGenerator.WordPlacement a = actual.gridResult.wordPlacements.get(p);
+                    assertEquals(e.word, a.word);
+                    assertEquals(e.endRow, a.endRow);
+                    assertEquals(e.endCol, a.endCol);
+                }
+            }
+
+            assertEquals(puzzles.get(4).seed, reader.readPuzzle(7, 1).seed);
+        }
+    }
+
+    private static List<LevelDefinition> readLevels(String fileName) throws IOException {
+        File file = LevelAssets.file(fileName);
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return new LevelJsonReader(reader).readAll();
+        }
+    }
+}
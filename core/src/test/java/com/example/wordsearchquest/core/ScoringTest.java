@@ -0,0 +1,19 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScoringTest {
+
+    @Test
+    public void levelScore_addsTimeBonusOnlyWhenWon() {
+        assertEquals(6 * 10 + 45 * 5, Scoring.levelScore(6, 45, true));
+        assertEquals(4 * 10, Scoring.levelScore(4, 45, false));
+    }
+
+    @Test
+    public void timeBonus_isNeverNegative() {
+        assertEquals(0, Scoring.timeBonus(-3));
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.*;
+
+public class WordCorpusTest {
+
+    private static final String CORPUS = "# category, word, count\n"
+        + "animals\tcat\t900\n"
+        + "animals\tdog\t1000\n"
+        + "animals\thorse\t300\n"
+        + "animals\tzebra\t20\n"
+        + "animals\telephant\t50\n"
+        + "animals\tcat\t900\n"
+        + "space\tstar\t800\n"
+        + "space\tcomet\t90\n"
+        + "space\tnebula\t10\n"
+        + "space\tx-ray\t10\n"
+        + "space\tplanet\t400\n";
+
+    @Test
+    public void read_ranksByCountAndDropsDuplicates() throws IOException {
+        List<WordCorpus.Entry> entries = WordCorpusWriter.read(new StringReader(CORPUS));
+
+        Map<String, Integer> ranks = new HashMap<>();
+        for (WordCorpus.Entry entry : entries) {
+            ranks.put(entry.word, entry.rank);
+        }
+        // X-RAY is not a grid word and the second CAT is a duplicate
+        assertEquals(9, entries.size());
+        assertEquals(0, (int) ranks.get("DOG"));
+        assertEquals(1, (int) ranks.get("CAT"));
+        assertEquals(2, (int) ranks.get("STAR"));
+        assertEquals(8, (int) ranks.get("NEBULA"));
+    }
+
+    @Test
+    public void sample_filtersByCategoryLengthAndRank() throws IOException {
+        WordCorpusReader corpus = load(CORPUS);
+
+        assertEquals(Arrays.asList("animals", "space"), corpus.getCategories());
+        assertEquals(8, corpus.getMaxLength());
+        assertEquals(2, corpus.getWordCount("animals", 5));
+
+        SplittableRandom random = new SplittableRandom(1);
+        assertEquals(new HashSet<>(Arrays.asList("HORSE", "ZEBRA", "ELEPHANT")),
+            new HashSet<>(corpus.sample("animals", 4, 10, 0, Integer.MAX_VALUE, 10, random)));
+        // CAT and DOG are the two most frequent words
+        assertEquals(new HashSet<>(Arrays.asList("CAT", "DOG")),
+            new HashSet<>(corpus.sample("animals", 1, 10, 0, 2, 10, random)));
+        assertEquals(Arrays.asList("PLANET"), corpus.sample("space", 6, 6, 0, 5, 10, random));
+        assertTrue(corpus.sample("plants", 1, 10, 0, Integer.MAX_VALUE, 10, random).isEmpty());
+    }
+
+    @Test
+    public void sample_isUniformAndDistinct() throws IOException {
+        StringBuilder corpus = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            corpus.append("letters\t").append(word(i)).append('\n');
+        }
+        WordCorpusReader reader = load(corpus.toString());
+
+        Map<String, Integer> picks = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int round = 0; round < 2000; round++) {
+            List<String> sample = reader.sample("letters", 1, 10, 10, 30, 5, random);
+            assertEquals(5, new HashSet<>(sample).size());
+            for (String word : sample) {
+                picks.merge(word, 1, Integer::sum);
+            }
+        }
+
+        // 20 words in the band, each picked about 2000 * 5 / 20 = 500 times
+        assertEquals(20, picks.size());
+        for (int count : picks.values()) {
+            assertTrue("Picked " + count + " times", count > 400 && count < 600);
+        }
+    }
+
+    @Test
+    public void open_mapsTheCorpusInsideALargerFile() throws IOException {
+        List<WordCorpus.Entry> entries = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 100_000; i++) {
+            entries.add(new WordCorpus.Entry("category" + (i % 8), word(i), i));
+        }
+        File file = File.createTempFile("words", ".corpus");
+        file.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(file)) {
+            // Leading junk stands in for the rest of an APK around an uncompressed asset
+            out.write(new byte[5]);
+            WordCorpusWriter.write(entries, out);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            WordCorpusReader corpus = WordCorpusReader.open(channel, 5, file.length() - 5);
+            assertEquals(100_000, corpus.getWordCount());
+
+            List<String> sample = corpus.sample("category3", 4, 4, 0, 1000, 20, random);
+            assertEquals(20, sample.size());
+            for (String word : sample) {
+                int index = index(word);
+                assertEquals(3, index % 8);
+                assertTrue(index < 1000);
+                assertEquals(4, word.length());
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void reader_rejectsTruncatedCorpus() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WordCorpusWriter.write(WordCorpusWriter.read(new StringReader(CORPUS)), bytes);
+        new WordCorpusReader(ByteBuffer.wrap(Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1)));
+    }
+
+    private static WordCorpusReader load(String corpus) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WordCorpusWriter.write(WordCorpusWriter.read(new StringReader(corpus)), bytes);
+        return new WordCorpusReader(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    // Distinct words for distinct numbers, written in base 26
+    private static String word(int number) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('A' + number % 26));
+            number /= 26;
+        } while (number > 0);
+        while (word.length() < 4) {
+            word.append('A');
+        }
+        return word.toString();
+    }
+
+    private static int index(String word) {
+        int number = 0;
+        for (int i = word.length() - 1; i >= 0; i--) {
+            number = number * 26 + (word.charAt(i) - 'A');
+        }
+        return number;
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.wordsearchquest.core;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class WordGridGeneratorTest {
+
+    @Test
+    public void generateGrid_placesEveryWordOnDenseGrid() {
+        List<String> words = Arrays.asList(
+            "REFRIGERATOR", "ENTREPRENEUR", "KINDERGARTEN", "KALEIDOSCOPE", "THOROUGHBRED",
+            "XYLOPHONE", "CHEESEBURGER", "QUARTERBACK"
+        );
+
+        for (int run = 0; run < 20; run++) {
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 12);
+            assertEquals(words.size(), result.wordPlacements.size());
+            assertPlacementsMatchGrid(result);
+        }
+    }
+
+    @Test
+    public void generateGridParallel_placesEveryWord() {
+        List<String> words = Arrays.asList(
+            "REFRIGERATOR", "ENTREPRENEUR", "KINDERGARTEN", "KALEIDOSCOPE", "THOROUGHBRED",
+            "XYLOPHONE", "CHEESEBURGER", "QUARTERBACK"
+        );
+
+        for (int run = 0; run < 20; run++) {
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGridParallel(words, 12);
+            assertEquals(words.size(), result.wordPlacements.size());
+            assertPlacementsMatchGrid(result);
+        }
+    }
+
+    @Test
+    public void generateGrid_reportsPlacementsBeforeFilling() {
+        List<String> words = Arrays.asList("GUITAR", "POP", "JAZZ", "DRUM", "HARP", "MOONWALK");
+        for (int gridSize : new int[]{8, 40}) {
+            List<WordGridGenerator.WordPlacement> placed = new ArrayList<>();
+            List<WordGridGenerator.GridResult> filled = new ArrayList<>();
+            WordGridGenerator.GenerationListener listener = new WordGridGenerator.GenerationListener() {
+                @Override
+                public void onWordPlaced(WordGridGenerator.WordPlacement placement) {
+                    assertTrue(filled.isEmpty());
+                    placed.add(placement);
+                }
+
+                @Override
+                public void onFilled(WordGridGenerator.GridResult result) {
+                    filled.add(result);
+                }
+            };
+
+            GenerationOptions options = new GenerationOptions().seed(5);
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, gridSize, options, listener);
+
+            assertEquals(1, filled.size());
+            assertSame(result, filled.get(0));
+            assertEquals(result.wordPlacements.size(), placed.size());
+            for (int i = 0; i < placed.size(); i++) {
+                assertEquals(result.wordPlacements.get(i).word, placed.get(i).word);
+                assertEquals(result.wordPlacements.get(i).startRow, placed.get(i).startRow);
+                assertEquals(result.wordPlacements.get(i).startCol, placed.get(i).startCol);
+            }
+            // Listening does not change the grid
+            assertArrayEquals(WordGridGenerator.generateGrid(words, gridSize, options).grid, result.grid);
+        }
+    }
+
+    @Test
+    public void search_stopsWhenCancelled() {
+        List<String> words = Arrays.asList(
+            "REFRIGERATOR", "ENTREPRENEUR", "KINDERGARTEN", "KALEIDOSCOPE", "THOROUGHBRED",
+            "XYLOPHONE", "CHEESEBURGER", "QUARTERBACK"
+        );
+        BacktrackingPlacer placer = new BacktrackingPlacer(new GridBoard(12), words,
+            WordGridGenerator.FORWARD_DIRECTIONS, new SplittableRandom(7), Long.MAX_VALUE, new AtomicBoolean(true));
+
+        assertEquals(BacktrackingPlacer.Outcome.CANCELLED, placer.search());
+        assertTrue(placer.getPlacements().isEmpty());
+    }
+
+    @Test
+    public void generateGrid_usesOnlyAllowedDirections() {
+        List<String> words = Arrays.asList("GUITAR", "POP", "JAZZ", "DRUM", "HARP", "MOONWALK");
+        Set<WordGridGenerator.Direction> reversed = EnumSet.of(
+            WordGridGenerator.Direction.HORIZONTAL_REVERSE, WordGridGenerator.Direction.VERTICAL_REVERSE);
+
+        for (int run = 0; run < 20; run++) {
+            WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(
+                words, 8, new GenerationOptions().directions(reversed).seed(run));
+            assertEquals(words.size(), result.wordPlacements.size());
+            assertPlacementsMatchGrid(result);
+            for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+                assertTrue(reversed.contains(placement.direction));
+            }
+        }
+    }
+
+    @Test
+    public void generateGrid_placesBundledLevelsWithEitherDirectionSet() throws IOException {
+        List<LevelDefinition> levels = new ArrayList<>();
+        for (String fileName : new String[]{"words_easy.json", "words_medium.json", "words_hard.json", "words_expert.json"}) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(LevelAssets.file(fileName)),
+                    StandardCharsets.UTF_8)) {
+                levels.addAll(new LevelJsonReader(reader).readAll());
+            }
+        }
+
+        for (Set<WordGridGenerator.Direction> directions
+                : Arrays.asList(WordGridGenerator.FORWARD_DIRECTIONS, WordGridGenerator.ALL_DIRECTIONS)) {
+            for (LevelDefinition level : levels) {
+                GenerationOptions options = new GenerationOptions().directions(directions).seed(level.level);
+                WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(level.words, level.gridSize, options);
+                assertTrue("Level " + level.level, result.complete);
+                assertEquals("Level " + level.level, level.words.size(), result.wordPlacements.size());
+                assertPlacementsMatchGrid(result);
+                for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+                    assertTrue(directions.contains(placement.direction));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseDirections_acceptsNamesAndShorthands() {
+        assertEquals(WordGridGenerator.ALL_DIRECTIONS, WordGridGenerator.parseDirections(Arrays.asList("all")));
+        assertEquals(
+            EnumSet.of(WordGridGenerator.Direction.HORIZONTAL, WordGridGenerator.Direction.HORIZONTAL_REVERSE),
+            WordGridGenerator.parseDirections(Arrays.asList("horizontal", "HORIZONTAL_REVERSE")));
+    }
+
+    @Test
+    public void generateGrid_dropsWordsLongerThanGrid() {
+        List<String> words = Arrays.asList("JAZZ", "MOONWALKER", "DRUM");
+
+        List<GenerationStats> stats = new ArrayList<>();
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 6,
+            new GenerationOptions().statsListener(stats::add));
+
+        assertEquals(2, result.wordPlacements.size());
+        assertFalse(result.complete);
+        assertEquals(Arrays.asList("MOONWALKER"), stats.get(0).droppedWords);
+        assertPlacementsMatchGrid(result);
+    }
+
+    @Test
+    public void generateGridParallel_wordLongerThanGridIsNotComplete() {
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGridParallel(
+            Arrays.asList("JAZZ", "MOONWALKER"), 6);
+
+        assertEquals(1, result.wordPlacements.size());
+        assertFalse(result.complete);
+    }
+
+    @Test
+    public void search_provesSetThatCannotFit() {
+        // Four disjoint three letter words need 12 cells, a 3x3 grid only has 9
+        List<String> words = Arrays.asList("ABC", "DEF", "GHI", "JKL");
+        BacktrackingPlacer placer = new BacktrackingPlacer(new GridBoard(3), words,
+            WordGridGenerator.FORWARD_DIRECTIONS, new SplittableRandom(7), Long.MAX_VALUE);
+
+        assertEquals(BacktrackingPlacer.Outcome.INFEASIBLE, placer.search());
+        assertEquals(3, placer.getPlacements().size());
+    }
+
+    @Test
+    public void search_stopsWhenBudgetRunsOut() {
+        List<String> words = Arrays.asList("ABC", "DEF", "GHI", "JKL");
+        BacktrackingPlacer placer = new BacktrackingPlacer(new GridBoard(3), words,
+            WordGridGenerator.FORWARD_DIRECTIONS, new SplittableRandom(7), 100);
+
+        assertEquals(BacktrackingPlacer.Outcome.BUDGET_EXHAUSTED, placer.search());
+    }
+
+    @Test
+    public void search_stopsAtDeadline() {
+        List<String> words = Arrays.asList("ABC", "DEF", "GHI", "JKL");
+        BacktrackingPlacer placer = new BacktrackingPlacer(new GridBoard(3), words,
+            WordGridGenerator.FORWARD_DIRECTIONS, new SplittableRandom(7), Long.MAX_VALUE);
+        placer.stopAt(System.nanoTime() - 1);
+
+        assertEquals(BacktrackingPlacer.Outcome.TIMED_OUT, placer.search());
+        assertTrue(placer.getPlacements().isEmpty());
+    }
+
+    @Test
+    public void generateGrid_timeBudgetReturnsBestSoFar() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+
+        // Already spent, so the search stops at its first check whatever the machine's speed
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 8,
+            new GenerationOptions().seed(4).timeBudgetNanos(-1));
+
+        assertFalse(result.complete);
+        assertTrue(result.wordPlacements.size() < words.size());
+        assertTrue(words.containsAll(
+            result.wordPlacements.stream().map(placement -> placement.word).collect(Collectors.toList())));
+        assertPlacementsMatchGrid(result);
+        for (char[] row : result.grid) {
+            for (char letter : row) {
+                assertTrue(letter >= 'A' && letter <= 'Z');
+            }
+        }
+    }
+
+    @Test
+    public void generateGrid_timeBudgetLeavesFastGridsUnchanged() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+
+        WordGridGenerator.GridResult plain = WordGridGenerator.generateGrid(words, 8, new GenerationOptions().seed(4));
+        WordGridGenerator.GridResult bounded = WordGridGenerator.generateGrid(words, 8,
+            new GenerationOptions().seed(4).timeBudget(10_000));
+
+        assertTrue(bounded.complete);
+        assertArrayEquals(plain.grid, bounded.grid);
+    }
+
+    @Test
+    public void generateGrid_cancelFlagStopsTheSearch() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+        AtomicBoolean cancelled = new AtomicBoolean(true);
+
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGrid(words, 8,
+            new GenerationOptions().seed(4).cancelFlag(cancelled));
+
+        assertFalse(result.complete);
+        assertTrue(result.wordPlacements.isEmpty());
+        assertEquals(8, result.grid.length);
+
+        cancelled.set(false);
+        assertTrue(WordGridGenerator.generateGrid(words, 8, new GenerationOptions().seed(4).cancelFlag(cancelled)).complete);
+    }
+
+    @Test
+    public void generateGridParallel_cancelFlagStopsEverySearch() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+        AtomicBoolean cancelled = new AtomicBoolean(true);
+
+        WordGridGenerator.GridResult result = WordGridGenerator.generateGridParallel(words, 8,
+            new GenerationOptions().cancelFlag(cancelled));
+
+        assertFalse(result.complete);
+        assertTrue(result.wordPlacements.isEmpty());
+        assertEquals(8, result.grid.length);
+    }
+
+    @Test
+    public void generateGridParallel_interruptReturnsAnEmptyGrid() {
+        List<String> words = Arrays.asList("GUITAR", "PIANO", "VIOLIN", "DRUM", "HARP", "FLUTE");
+
+        Thread.currentThread().interrupt();
+        WordGridGenerator.GridResult result;
+        try {
+            result = WordGridGenerator.generateGridParallel(words, 8);
+        } finally {
+            // Clears the flag for the other tests, and checks it was passed on
+            assertTrue(Thread.interrupted());
+        }
+
+        assertFalse(result.complete);
+        assertTrue(result.wordPlacements.isEmpty());
+        for (char[] row : result.grid) {
+            for (char letter : row) {
+                assertTrue(letter >= 'A' && letter <= 'Z');
+            }
+        }
+    }
+
+    @Test
+    public void boardProbeAndWrite_allocateNothing() {
+        GridBoard board = new GridBoard(12);
+        String word = "KALEIDOSCOPE";
+        int direction = WordGridGenerator.Direction.DIAGONAL_DOWN.ordinal();
+
+        Runnable hotPath = () -> {
+            for (int i = 0; i < 10_000; i++) {
+                if (board.fits(word, 0, direction)) {
+                    board.write(word, 0, direction);
+                    board.erase(word, 0, direction);
+                }
+            }
+        };
+        hotPath.run();
+
+        assertEquals(0, allocatedBytes(hotPath));
+    }
+
+    @Test
+    public void search_allocatesNothing() {
+        List<String> words = Arrays.asList(
+            "REFRIGERATOR", "ENTREPRENEUR", "KINDERGARTEN", "KALEIDOSCOPE", "THOROUGHBRED",
+            "XYLOPHONE", "CHEESEBURGER", "QUARTERBACK"
+        );
+        // Warm up so class loading and JIT compilation don't count
+        for (int i = 0; i < 200; i++) {
+            new BacktrackingPlacer(new GridBoard(12), words,
+                WordGridGenerator.ALL_DIRECTIONS, new SplittableRandom(i), 1_000_000).search();
+        }
+
+        BacktrackingPlacer placer = new BacktrackingPlacer(new GridBoard(12), words,
+            WordGridGenerator.ALL_DIRECTIONS, new SplittableRandom(1), 1_000_000);
+
+        assertEquals(0, allocatedBytes(placer::search));
+    }
+
+    private static long allocatedBytes(Runnable action) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        long threadId = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(threadId);
+        action.run();
+        return allocations.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static void assertPlacementsMatchGrid(WordGridGenerator.GridResult result) {
+        List<String> placed = new ArrayList<>();
+        for (WordGridGenerator.WordPlacement placement : result.wordPlacements) {
+            int rowStep = Integer.signum(placement.endRow - placement.startRow);
+            int colStep = Integer.signum(placement.endCol - placement.startCol);
+            for (int i = 0; i < placement.word.length(); i++) {
+                char letter = result.grid[placement.startRow + i * rowStep][placement.startCol + i * colStep];
+                assertEquals(placement.word.charAt(i), letter);
+            }
+            placed.add(placement.word);
+        }
+        assertEquals(placed.size(), placed.stream().distinct().count());
+    }
+}